@@ -65,6 +65,25 @@ checkstyle-tester-diff-groovy-patch-only)
     -pc my_check.xml -p patch-branch -r ../.ci-temp/checkstyle -m single --useShallowClone
   ;;
 
+checkstyle-tester-diff-groovy-merge-shards)
+  export MAVEN_OPTS="-Xmx4g"
+  checkout_from https://github.com/checkstyle/checkstyle
+  cd .ci-temp/checkstyle
+  git checkout -b patch-branch
+  cd ../../checkstyle-tester
+  for SHARD in 1 2; do
+    groovy diff.groovy -l projects-to-test-on.properties \
+      -c my_check.xml -b master -p patch-branch -r ../.ci-temp/checkstyle -sh $SHARD/2
+    mv reports ../.ci-temp/shard$SHARD
+  done
+  # shards are collected from a clean tree, where the diff tool is not built yet
+  rm -rf ../patch-diff-report-tool/target
+  groovy diff.groovy -l projects-to-test-on.properties \
+    -c my_check.xml -b master -p patch-branch -r ../.ci-temp/checkstyle \
+    -ms ../.ci-temp/shard1,../.ci-temp/shard2
+  test -f reports/diff/index.html
+  ;;
+
 checkstyle-tester-diff-groovy-regression-single)
   # Check out lateset checkstyle from master
   rm -rf .ci-temp
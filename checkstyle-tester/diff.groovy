@@ -1,4 +1,6 @@
 import static java.lang.System.err
+import static java.nio.charset.StandardCharsets.UTF_8
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING
 
 import java.nio.file.FileVisitResult
@@ -7,7 +9,20 @@ import java.nio.file.Path
 import java.nio.file.Paths
 import java.nio.file.SimpleFileVisitor
 import java.nio.file.attribute.BasicFileAttributes
+import java.security.MessageDigest
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
 import java.util.regex.Pattern
+import groovy.io.FileType
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import groovy.transform.CompileStatic
+import groovy.xml.XmlNodePrinter
+import groovy.xml.XmlParser
 @GrabConfig(systemClassLoader = true)
 @Grab('info.picocli:picocli:4.2.0')
 import groovy.cli.picocli.CliBuilder
@@ -16,6 +31,9 @@ def cliOptions = getCliOptions(args)
 if (cliOptions != null) {
     if (areValidCliOptions(cliOptions)) {
         def cfg = new ToolConfig(cliOptions)
+        if (cfg.incremental) {
+            reduceConfigsToChangedModules(cfg)
+        }
         def configFilesList = [cfg.config, cfg.baseConfig, cfg.patchConfig, cfg.listOfProjects]
         copyConfigFilesAndUpdatePaths(configFilesList)
 
@@ -33,19 +51,43 @@ if (cliOptions != null) {
         }
 
         def checkstyleBaseReportInfo = null
-        if (cfg.isDiffMode()) {
-            checkstyleBaseReportInfo = launchCheckstyleReport(cfg.checkstyleToolBaseConfig)
+        def checkstylePatchReportInfo
+        if (cfg.mergeShards) {
+            mergeShardReports(cfg)
+            // the summary loads the tool, which may not be built on a machine collecting shards
+            buildDiffTool(cfg.diffToolConfig)
+            if (cfg.isDiffMode()) {
+                checkstyleBaseReportInfo = getCheckstyleReportInfo(cfg.localGitRepo, cfg.baseBranch)
+            }
+            checkstylePatchReportInfo = getCheckstyleReportInfo(cfg.localGitRepo, cfg.patchBranch)
         }
+        else {
+            if (cfg.isDiffMode()) {
+                checkstyleBaseReportInfo = launchCheckstyleReport(cfg.checkstyleToolBaseConfig)
+            }
 
-        def checkstylePatchReportInfo = launchCheckstyleReport(cfg.checkstyleToolPatchConfig)
+            checkstylePatchReportInfo = launchCheckstyleReport(cfg.checkstyleToolPatchConfig)
 
-        if (checkstylePatchReportInfo) {
-            deleteDir(cfg.reportsDir)
-            moveDir(cfg.tmpReportsDir, cfg.reportsDir)
+            if (checkstylePatchReportInfo) {
+                deleteDir(cfg.reportsDir)
+                moveDir(cfg.tmpReportsDir, cfg.reportsDir)
 
-            generateDiffReport(cfg.diffToolConfig)
-            generateSummaryIndexHtml(cfg.diffDir, checkstyleBaseReportInfo,
-                checkstylePatchReportInfo, configFilesList, cfg.allowExcludes)
+                generateDiffReport(cfg.diffToolConfig)
+            }
+        }
+
+        if (checkstylePatchReportInfo) {
+            def runtimeComparison = []
+            if (cfg.runtimeRepeats && cfg.isDiffMode()) {
+                runtimeComparison = compareRuntime(cfg.masterReportsDir, cfg.patchReportsDir,
+                    cfg.runtimeThreshold)
+            }
+            cfg.timeline.measure('', '', 'summary') {
+                generateSummaryIndexHtml(cfg.diffDir, checkstyleBaseReportInfo,
+                    checkstylePatchReportInfo, configFilesList, cfg.allowExcludes, cfg.timeline,
+                    runtimeComparison, cfg.runtimeThreshold)
+            }
+            cfg.timeline.write(cfg.diffDir)
         }
     }
     else {
@@ -82,6 +124,35 @@ def getCliOptions(args) {
             + ' \'diff\' or \'single\'. (optional, default is \'diff\')')
         xm(longOpt: 'extraMvnRegressionOptions', args: 1, required: false, 'Extra arguments to pass to Maven' \
             + 'for Checkstyle Regression run (optional, ex: -Dmaven.prop=true)')
+        rc(longOpt: 'reportsCacheDir', args: 1, required: false, argName: 'path', 'Path to the directory ' \
+            + 'to cache Checkstyle reports of projects between runs (optional, default is no caching)')
+        mr(longOpt: 'mirrorsDir', args: 1, required: false, argName: 'path', 'Path to the directory ' \
+            + 'with bare mirrors of git projects, projects are checked out from them as worktrees ' \
+            + '(optional, default is cloning of every project into repositories directory)')
+        i(longOpt: 'incremental', required: false, 'Whether to run only the checks changed between ' \
+            + 'baseBranch and patchBranch in diff mode (optional, default is false)')
+        pf(longOpt: 'profileChecks', required: false, 'Whether to measure time of every check on every ' \
+            + 'project and add performance difference to the report (optional, default is false)')
+        rr(longOpt: 'runtimeRepeats', args: 1, required: false, argName: 'count', 'Number of times ' \
+            + 'to run Checkstyle on every project to measure its wall time and peak memory ' \
+            + '(optional, default is no measurement)')
+        rt(longOpt: 'runtimeThreshold', args: 1, required: false, argName: 'percent', 'Slowdown ' \
+            + 'of the patch branch in percent after which a project is flagged in the summary ' \
+            + '(optional, default is 10)')
+        sh(longOpt: 'shard', args: 1, required: false, argName: 'i/n', 'Check only the i-th of n ' \
+            + 'shards of the list of projects, shards are balanced by cost of projects ' \
+            + '(optional, default is all projects)')
+        pt(longOpt: 'projectCosts', args: 1, required: false, argName: 'path', 'Path to timeline.json ' \
+            + 'of a previous run to estimate cost of projects for sharding and scheduling (optional, ' \
+            + 'default is equal cost of all projects for sharding and size of sources for scheduling)')
+        j(longOpt: 'jobs', args: 1, required: false, argName: 'count', 'Number of projects to check ' \
+            + 'in parallel, the most costly projects are started first (optional, default is 1)')
+        pp(longOpt: 'partitions', args: 1, required: false, argName: 'count', 'Maximal number ' \
+            + 'of parts to split sources of a large project into, parts are checked in parallel ' \
+            + '(optional, default is 1)')
+        ms(longOpt: 'mergeShards', args: 1, required: false, argName: 'paths', 'Comma separated ' \
+            + 'reports directories of shard runs to merge into one report instead of running ' \
+            + 'Checkstyle (optional)')
     }
     return cli.parse(args)
 }
@@ -121,6 +192,51 @@ def areValidCliOptions(cliOptions) {
         err.println "Error: file ${listOfProjectsFile.name} does not exist!"
         valid = false
     }
+    else if (cliOptions.runtimeRepeats && !(cliOptions.runtimeRepeats ==~ /[1-9]\d*/)) {
+        err.println "Error: runtimeRepeats should be a positive number!"
+        valid = false
+    }
+    else if (cliOptions.runtimeThreshold && !cliOptions.runtimeThreshold.isBigDecimal()) {
+        err.println "Error: runtimeThreshold should be a number!"
+        valid = false
+    }
+    else if (cliOptions.shard && !isValidShard(cliOptions.shard)) {
+        err.println "Error: shard should be in i/n format, where 1 <= i <= n!"
+        valid = false
+    }
+    else if (cliOptions.projectCosts && !new File(cliOptions.projectCosts).exists()) {
+        err.println "Error: file ${cliOptions.projectCosts} does not exist!"
+        valid = false
+    }
+    else if (cliOptions.jobs && !(cliOptions.jobs ==~ /[1-9]\d*/)) {
+        err.println "Error: jobs should be a positive number!"
+        valid = false
+    }
+    else if (cliOptions.jobs && (cliOptions.jobs as int) > 1 && cliOptions.runtimeRepeats) {
+        err.println "Error: runtime cannot be measured when projects are checked in parallel!"
+        valid = false
+    }
+    else if (cliOptions.partitions && !(cliOptions.partitions ==~ /[1-9]\d*/)) {
+        err.println "Error: partitions should be a positive number!"
+        valid = false
+    }
+    else if (cliOptions.partitions && (cliOptions.partitions as int) > 1 && cliOptions.runtimeRepeats) {
+        err.println "Error: runtime cannot be measured when projects are checked in partitions!"
+        valid = false
+    }
+    else if (cliOptions.incremental && 'single'.equals(toolMode)) {
+        err.println "Error: incremental option can be used only in diff mode!"
+        valid = false
+    }
+    else if (cliOptions.shard && cliOptions.mergeShards) {
+        err.println "Error: shard and mergeShards options cannot be used together!"
+        valid = false
+    }
+    else if (cliOptions.mergeShards
+            && !cliOptions.mergeShards.split(',').every { new File(it.trim()).isDirectory() }) {
+        err.println "Error: not all directories of ${cliOptions.mergeShards} exist!"
+        valid = false
+    }
 
     return valid
 }
@@ -194,6 +310,109 @@ def copyConfigFilesAndUpdatePaths(configFilesList) {
     }
 }
 
+def reduceConfigsToChangedModules(cfg) {
+    def changedFiles = getChangedFiles(cfg.localGitRepo, cfg.baseBranch, cfg.patchBranch)
+    def changedChecks = getChangedCheckNames(changedFiles)
+    if (changedChecks == null) {
+        println 'Incremental run is not possible: changes are not limited to check classes, ' \
+            + 'full configuration will be used'
+    }
+    else {
+        if (changedChecks.isEmpty()) {
+            println 'Incremental run has no checks to run: no main sources or pom.xml are changed, ' \
+                + 'so reports cannot differ and checks are removed from the configuration'
+        }
+        else {
+            println "Incremental run is limited to the changed checks: ${changedChecks.sort()}"
+        }
+        def reducedBaseConfig = null
+        if (cfg.baseConfig) {
+            reducedBaseConfig = createReducedConfig(cfg.baseConfig, changedChecks)
+        }
+        def reducedPatchConfig = reducedBaseConfig
+        if (cfg.patchConfig != cfg.baseConfig) {
+            reducedPatchConfig = createReducedConfig(cfg.patchConfig, changedChecks)
+        }
+        if (cfg.config) {
+            cfg.config = reducedPatchConfig
+        }
+        cfg.baseConfig = reducedBaseConfig
+        cfg.patchConfig = reducedPatchConfig
+    }
+}
+
+def getChangedFiles(gitRepo, baseBranch, patchBranch) {
+    // changes of the patch branch only, since its merge base with the base branch
+    def gitDiffCmd = "git diff --name-only $baseBranch...$patchBranch".execute(null, gitRepo)
+    def changedFiles = gitDiffCmd.text.readLines()
+    gitDiffCmd.waitFor()
+    if (gitDiffCmd.exitValue() != 0) {
+        throw new GroovyRuntimeException("Error: ${gitDiffCmd.err.text}!")
+    }
+    return changedFiles
+}
+
+def getChangedCheckNames(changedFiles) {
+    def changedChecks = null
+    // sources, resources and build file can affect any module, so the run can be reduced
+    // only if all of them are concrete check classes, changes of tests or docs only leave
+    // no check to run
+    def relevantFiles = changedFiles.findAll { it.contains('src/main/') || it.endsWith('pom.xml') }
+    def checkSourcePattern = Pattern.compile('.*src/main/java/.+/(?!Abstract)(?<name>\\w+)Check\\.java')
+    if (relevantFiles.every { checkSourcePattern.matcher(it).matches() }) {
+        changedChecks = [] as Set
+        relevantFiles.each {
+            def matcher = checkSourcePattern.matcher(it)
+            matcher.matches()
+            changedChecks.add(matcher.group('name'))
+        }
+    }
+    return changedChecks
+}
+
+def createReducedConfig(configPath, changedChecks) {
+    def configFile = new File(configPath)
+    def parser = new XmlParser(false, false, true)
+    parser.setFeature('http://apache.org/xml/features/nonvalidating/load-external-dtd', false)
+    def rootModule = parser.parse(configFile)
+    removeUnchangedChecks(rootModule, changedChecks)
+
+    def reducedConfig = new File("incremental_${configFile.name}")
+    reducedConfig.withWriter { writer ->
+        writer.writeLine('<?xml version="1.0"?>')
+        writer.writeLine('<!DOCTYPE module PUBLIC')
+        writer.writeLine('          "-//Checkstyle//DTD Checkstyle Configuration 1.3//EN"')
+        writer.writeLine('          "https://checkstyle.org/dtds/configuration_1_3.dtd">')
+        def printer = new XmlNodePrinter(new PrintWriter(writer))
+        printer.preserveWhitespace = true
+        printer.print(rootModule)
+    }
+    println "Reduced configuration is saved to ${reducedConfig.name}"
+    return reducedConfig.path
+}
+
+def removeUnchangedChecks(parentModule, changedChecks) {
+    def unchangedChecks = parentModule.module.findAll {
+        def moduleName = getSimpleModuleName(it.@name)
+        !isInfrastructureModule(moduleName) && !changedChecks.contains(moduleName)
+    }
+    unchangedChecks.each { parentModule.remove(it) }
+    parentModule.module.each { removeUnchangedChecks(it, changedChecks) }
+}
+
+def getSimpleModuleName(moduleName) {
+    def simpleName = moduleName.substring(moduleName.lastIndexOf('.') + 1)
+    if (simpleName.endsWith('Check')) {
+        simpleName = simpleName.substring(0, simpleName.length() - 'Check'.length())
+    }
+    return simpleName
+}
+
+def isInfrastructureModule(simpleModuleName) {
+    return 'TreeWalker'.equals(simpleModuleName) || simpleModuleName.endsWith('Filter') \
+        || simpleModuleName.endsWith('Holder')
+}
+
 def hasUnstagedChanges(gitRepo) {
     def hasUnstagedChanges = true
     def gitStatusCmd = "git diff --exit-code".execute(null, gitRepo)
@@ -219,17 +438,23 @@ def getCheckstyleVersionFromPomXml(pathToPomXml, xmlTagName) {
     return checkstyleVersion
 }
 
+def isValidShard(shard) {
+    def matcher = shard =~ /^(\d+)\/(\d+)$/
+    return matcher.matches() && 1 <= (matcher.group(1) as int)
+        && (matcher.group(1) as int) <= (matcher.group(2) as int)
+}
+
 def launchCheckstyleReport(cfg) {
     CheckstyleReportInfo reportInfo
     def isRegressionTesting = cfg.branch && cfg.localGitRepo
+    cfg.isRegressionTesting = isRegressionTesting
+    cfg.isCheckstyleInstalled = false
 
     // If "no exception" testing, these may not be defined in repos other than checkstyle
     if (isRegressionTesting) {
-        println "Installing Checkstyle artifact ($cfg.branch) into local Maven repository ..."
         executeCmd("git checkout $cfg.branch", cfg.localGitRepo)
         executeCmd("git log -1 --pretty=MSG:%s%nSHA-1:%H", cfg.localGitRepo)
-        executeCmd("mvn -e --no-transfer-progress --batch-mode -Pno-validations clean install",
-            cfg.localGitRepo)
+        cfg.checkstyleCommitSha = getLastCheckstyleCommitSha(cfg.localGitRepo, cfg.branch)
     }
 
     cfg.checkstyleVersion =
@@ -241,20 +466,37 @@ def launchCheckstyleReport(cfg) {
     moveDir("reports", cfg.destDir)
 
     if (isRegressionTesting) {
-        reportInfo = new CheckstyleReportInfo(
-            cfg.branch,
-            getLastCheckstyleCommitSha(cfg.localGitRepo, cfg.branch),
-            getLastCommitMsg(cfg.localGitRepo, cfg.branch),
-            getLastCommitTime(cfg.localGitRepo, cfg.branch)
-        )
+        reportInfo = getCheckstyleReportInfo(cfg.localGitRepo, cfg.branch)
     }
     return reportInfo
 }
 
+def getCheckstyleReportInfo(gitRepo, branch) {
+    return new CheckstyleReportInfo(
+        branch,
+        getLastCheckstyleCommitSha(gitRepo, branch),
+        getLastCommitMsg(gitRepo, branch),
+        getLastCommitTime(gitRepo, branch)
+    )
+}
+
+def installCheckstyleIfRequired(cfg) {
+    // installation is postponed until the first report that is not found in the cache
+    synchronized (cfg) {
+        if (cfg.isRegressionTesting && !cfg.isCheckstyleInstalled) {
+            println "Installing Checkstyle artifact ($cfg.branch) into local Maven repository ..."
+            cfg.timeline.measure(cfg.branch, '', 'install') {
+                executeCmd("mvn -e --no-transfer-progress --batch-mode -Pno-validations clean install",
+                    cfg.localGitRepo)
+            }
+            cfg.isCheckstyleInstalled = true
+        }
+    }
+}
+
 def generateCheckstyleReport(cfg) {
     println 'Testing Checkstyle started'
 
-    def targetDir = 'target'
     def srcDir = getOsSpecificPath("src", "main", "java")
     def reposDir = 'repositories'
     def reportsDir = 'reports'
@@ -267,15 +509,10 @@ def generateCheckstyleReport(cfg) {
     final repoExcludesParamNo = 4
     final fullParamListSize = 5
 
-    def checkstyleConfig = cfg.checkstyleCfg
-    def checkstyleVersion = cfg.checkstyleVersion
-    def allowExcludes = cfg.allowExcludes
-    def useShallowClone = cfg.useShallowClone
     def listOfProjectsFile = new File(cfg.listOfProjects)
-    def projects = listOfProjectsFile.readLines()
-    def extraMvnRegressionOptions = cfg.extraMvnRegressionOptions
+    def projects = []
 
-    projects.each {
+    listOfProjectsFile.readLines().each {
         project ->
             if (!project.startsWith('#') && !project.isEmpty()) {
                 def params = project.split('\\|', -1)
@@ -285,41 +522,476 @@ def generateCheckstyleReport(cfg) {
                         "pipe-delimited sections!")
                 }
 
-                def repoName = params[repoNameParamNo]
-                def repoType = params[repoTypeParamNo]
-                def repoUrl = params[repoURLParamNo]
-                def commitId = params[repoCommitIDParamNo]
-
                 def excludes = ""
-                if (allowExcludes) {
+                if (cfg.allowExcludes) {
                     excludes = params[repoExcludesParamNo]
                 }
 
+                projects.add([
+                    repoName: params[repoNameParamNo],
+                    repoType: params[repoTypeParamNo],
+                    repoUrl: params[repoURLParamNo],
+                    commitId: params[repoCommitIDParamNo],
+                    excludes: excludes,
+                ])
+            }
+    }
+
+    if (cfg.shard) {
+        projects = getShardProjects(projects, cfg.shard, cfg.projectCosts)
+    }
+    // Maven executions of projects and of their partitions share the same number of slots
+    cfg.mavenSlots = new Semaphore(cfg.jobs as int)
+    if (cfg.jobs > 1) {
+        // longest projects are started first, so a huge project does not finish alone at the end
+        def costs = getProjectCosts(projects, cfg.projectCosts, true)
+        runInParallel(cfg.jobs, sortByCost(projects, costs)) { generateProjectCheckstyleReport(cfg, it) }
+    }
+    else {
+        projects.each { generateProjectCheckstyleReport(cfg, it) }
+    }
+
+    // restore empty_file to make src directory tracked by git
+    new File(getOsSpecificPath("$srcDir", "empty_file")).createNewFile()
+}
+
+def getShardProjects(projects, shard, projectCostsFile) {
+    def (shardIndex, shardsCount) = shard.split('/').collect { it as int }
+    // sizes of sources differ between machines, so shards are balanced by recorded time only
+    def costs = getProjectCosts(projects, projectCostsFile, false)
+
+    // the longest projects are assigned first, each to the least loaded shard
+    def shardLoads = new long[shardsCount]
+    def shardProjects = []
+    sortByCost(projects, costs).each { project ->
+        def leastLoaded = (0..<shardsCount).min { shardLoads[it] }
+        shardLoads[leastLoaded] += costs[project.repoName] as long
+        if (leastLoaded == shardIndex - 1) {
+            shardProjects.add(project)
+        }
+    }
+    println "Shard $shard contains ${shardProjects.size()} of ${projects.size()} projects: " +
+        shardProjects.collect { it.repoName }.join(', ')
+    // projects are checked in the order of the list
+    return projects.findAll { shardProjects.contains(it) }
+}
+
+def getProjectCosts(projects, projectCostsFile, useSourcesSize) {
+    def costs = [:]
+    if (projectCostsFile) {
+        new JsonSlurper().parse(new File(projectCostsFile)).findAll { it.project }.each {
+            costs[it.project] = (costs[it.project] ?: 0) + it.durationMillis
+        }
+    }
+    else if (useSourcesSize) {
+        projects.each {
+            def sourcesSize = getSourcesSize(it)
+            if (sourcesSize != null) {
+                costs[it.repoName] = sourcesSize
+            }
+        }
+    }
+    // projects missing in the previous run are expected to be as costly as an average project
+    def knownCosts = projects.collect { costs[it.repoName] }.findAll { it != null }
+    def defaultCost = knownCosts ? knownCosts.sum() / knownCosts.size() : 1
+    return projects.collectEntries { [(it.repoName): costs[it.repoName] ?: defaultCost] }
+}
+
+def getSourcesSize(project) {
+    // sources are known only for local projects and projects cloned by a previous run
+    def sourcesDir = [project.repoType == 'local' ? new File(project.repoUrl) : null,
+        new File(getOsSpecificPath('repositories', "$project.repoName")),
+        new File(getOsSpecificPath('worktrees', "$project.repoName"))].find { it?.isDirectory() }
+    def sourcesSize = null
+    if (sourcesDir) {
+        sourcesSize = 0L
+        sourcesDir.eachFileRecurse(FileType.FILES) {
+            if (it.name.endsWith('.java')) {
+                sourcesSize += it.length()
+            }
+        }
+    }
+    return sourcesSize
+}
+
+def sortByCost(projects, costs) {
+    return projects.sort(false) { a, b ->
+        costs[b.repoName] <=> costs[a.repoName] ?: a.repoName <=> b.repoName
+    }
+}
+
+def runInParallel(jobs, projects, Closure action) {
+    def executor = Executors.newFixedThreadPool(jobs)
+    try {
+        // the pool takes projects in the order of submission as workers become free
+        def futures = projects.collect { project -> executor.submit({ action(project) } as Callable) }
+        futures.each {
+            try {
+                it.get()
+            }
+            catch (ExecutionException ex) {
+                throw ex.cause
+            }
+        }
+    }
+    finally {
+        executor.shutdownNow()
+    }
+}
+
+def generateProjectCheckstyleReport(cfg, project) {
+    def repoName = project.repoName
+    // projects checked in parallel get their own Maven build directory
+    def targetDir = cfg.jobs > 1 ? getOsSpecificPath('target', "$repoName") : 'target'
+    // sources are kept in the folder named by the project under the checked root, as excludes
+    // of projects start with their names, and projects checked in parallel get their own root
+    def srcRoot = cfg.jobs > 1 ? getOsSpecificPath('src', "$repoName", 'main', 'java')
+        : getOsSpecificPath('src', 'main', 'java')
+    def srcDir = getOsSpecificPath(srcRoot, "$repoName")
+    def reposDir = 'repositories'
+    def reportsDir = 'reports'
+    def repoType = project.repoType
+    def commitId = project.commitId
+
+    def timeline = cfg.timeline
+    def branch = cfg.branch ?: ''
+
+    def repoPath = project.repoUrl
+    def isWorktree = repoType != 'local' && cfg.mirrorsDir
+    if (isWorktree) {
+        repoPath = timeline.measure(branch, repoName, 'clone') {
+            checkoutProjectWorktree(cfg.mirrorsDir, project)
+        }
+    }
+    else if (repoType != 'local') {
+        timeline.measure(branch, repoName, 'clone') {
+            if (cfg.useShallowClone && !isGitSha(commitId)) {
+                shallowCloneRepository(repoName, repoType, project.repoUrl, commitId, reposDir)
+            } else {
+                cloneRepository(repoName, repoType, project.repoUrl, commitId, reposDir)
+            }
+        }
+        repoPath = new File(getOsSpecificPath("$reposDir", "$repoName")).absolutePath
+    }
+
+    def cacheEntry = getReportCacheEntry(cfg, project, repoPath)
+    if (cacheEntry != null && cacheEntry.exists()) {
+        println "Using cached Checkstyle report for $repoName from $cacheEntry.path"
+        timeline.measure(branch, repoName, 'cache') {
+            copyDir(cacheEntry.path, getOsSpecificPath("$reportsDir", "$repoName"))
+        }
+    }
+    else {
+        installCheckstyleIfRequired(cfg)
+        def runtimeSamples
+        if (isWorktree) {
+            // worktree is checked in place, so report already points to persistent sources
+            runtimeSamples = timeline.measure(branch, repoName, 'checkstyle') {
+                runProjectCheckstyle(cfg, project, new File(repoPath).parent, targetDir)
+            }
+            if (cfg.profileChecks) {
+                timeline.measure(branch, repoName, 'profile') {
+                    profileChecks(cfg, new File(repoPath).parent, project.excludes, targetDir)
+                }
+            }
+        }
+        else {
+            timeline.measure(branch, repoName, 'copy') {
                 deleteDir(srcDir)
-                if (repoType == 'local') {
-                    copyDir(repoUrl, getOsSpecificPath("$srcDir", "$repoName"))
-                } else {
-                    if (useShallowClone && !isGitSha(commitId)) {
-                        shallowCloneRepository(repoName, repoType, repoUrl, commitId, reposDir)
-                    } else {
-                        cloneRepository(repoName, repoType, repoUrl, commitId, reposDir)
-                    }
-                    copyDir(getOsSpecificPath("$reposDir", "$repoName"), getOsSpecificPath("$srcDir", "$repoName"))
+                copyDir(repoPath, srcDir)
+            }
+            runtimeSamples = timeline.measure(branch, repoName, 'checkstyle') {
+                runProjectCheckstyle(cfg, project, srcRoot, targetDir)
+            }
+            if (cfg.profileChecks) {
+                timeline.measure(branch, repoName, 'profile') {
+                    profileChecks(cfg, srcRoot, project.excludes, targetDir)
                 }
-                runMavenExecution(srcDir, excludes, checkstyleConfig,
-                    checkstyleVersion, extraMvnRegressionOptions)
-                def repoPath = repoUrl
-                if (repoType != 'local') {
-                    repoPath = new File(getOsSpecificPath("$reposDir", "$repoName")).absolutePath
+            }
+            timeline.measure(branch, repoName, 'post-process') {
+                postProcessCheckstyleReport(targetDir, srcDir, repoPath)
+            }
+            deleteDir(cfg.jobs > 1 ? getOsSpecificPath('src', "$repoName") : srcDir)
+        }
+        if (cfg.runtimeRepeats) {
+            writeRuntimeSamples(runtimeSamples, targetDir)
+        }
+        if (cacheEntry != null) {
+            timeline.measure(branch, repoName, 'cache') {
+                saveReportToCache(targetDir, cacheEntry)
+            }
+        }
+        moveDir(targetDir, getOsSpecificPath("$reportsDir", "$repoName"))
+    }
+}
+
+def runProjectCheckstyle(cfg, project, sourceRoot, targetDir) {
+    def partitions = []
+    if (cfg.partitions > 1) {
+        partitions = getSourcesPartitions(new File("$sourceRoot"), cfg.partitions)
+    }
+    def runtimeSamples = []
+    if (partitions.size() > 1) {
+        runPartitionedCheckstyle(cfg, project, new File("$sourceRoot"), targetDir, partitions)
+    }
+    else {
+        runtimeSamples = withMavenSlot(cfg) {
+            runMavenExecution(sourceRoot, targetDir, project.excludes, cfg.checkstyleCfg,
+                cfg.checkstyleVersion, cfg.extraMvnRegressionOptions, cfg.runtimeRepeats)
+        }
+    }
+    return runtimeSamples
+}
+
+def withMavenSlot(cfg, Closure action) {
+    cfg.mavenSlots.acquire()
+    try {
+        return action()
+    }
+    finally {
+        cfg.mavenSlots.release()
+    }
+}
+
+def getSourcesPartitions(sourcesDir, maxPartitionsCount) {
+    // smaller parts are not worth the startup of one more Maven execution
+    def minPartitionBytes = 4 * 1024 * 1024
+    def sources = []
+    sourcesDir.eachFileRecurse(FileType.FILES) {
+        if (it.name.endsWith('.java')) {
+            sources.add(it)
+        }
+    }
+    def totalBytes = sources.sum(0L) { it.length() }
+    def partitionsCount = Math.min(maxPartitionsCount, (int) (totalBytes / minPartitionBytes))
+    def partitions = []
+    if (partitionsCount > 1) {
+        // the largest files are assigned first, each to the smallest partition
+        def partitionBytes = new long[partitionsCount]
+        partitions = (1..partitionsCount).collect { [] }
+        sources.sort { a, b -> b.length() <=> a.length() ?: a.path <=> b.path }.each { file ->
+            def smallest = (0..<partitionsCount).min { partitionBytes[it] }
+            partitionBytes[smallest] += file.length()
+            partitions[smallest].add(sourcesDir.toPath().relativize(file.toPath()))
+        }
+    }
+    return partitions
+}
+
+def runPartitionedCheckstyle(cfg, project, sourceRoot, targetDir, partitions) {
+    def partitionsDir = new File(getOsSpecificPath('partitions', "$project.repoName")).absoluteFile
+    if (partitionsDir.exists()) {
+        deleteDir(partitionsDir.path)
+    }
+    println "Checking $project.repoName in ${partitions.size()} partitions ..."
+    def partialReports = (0..<partitions.size()).collect { index ->
+        // files keep their paths relative to the source root, so excludes of the project match
+        def partitionSourceRoot = new File(partitionsDir, getOsSpecificPath("$index", 'src'))
+        partitions[index].each {
+            linkFile(sourceRoot.toPath().resolve(it), partitionSourceRoot.toPath().resolve(it))
+        }
+        return [
+            sourceRoot: partitionSourceRoot,
+            targetDir: new File(partitionsDir, getOsSpecificPath("$index", 'target')),
+        ]
+    }
+    // partitions wait for free slots, so no more than 'jobs' Maven executions run at once
+    runInParallel(partialReports.size(), partialReports) { partialReport ->
+        withMavenSlot(cfg) {
+            runMavenExecution(partialReport.sourceRoot.path, partialReport.targetDir.path,
+                project.excludes, cfg.checkstyleCfg, cfg.checkstyleVersion,
+                cfg.extraMvnRegressionOptions)
+        }
+    }
+    def reports = partialReports.collect {
+        def report = new File(it.targetDir, 'checkstyle-result.xml')
+        // paths are restored as if the whole project was checked at once
+        replacePathInReport(report.toPath(), it.sourceRoot.absolutePath, sourceRoot.absolutePath)
+        return report.absolutePath
+    }
+    new File("$targetDir").mkdirs()
+    // partitions have no common files, so their reports are merged without sorting
+    def mergedReport = new File(getOsSpecificPath("$targetDir", 'checkstyle-result.xml')).absolutePath
+    executeCmd("java -jar ${getDiffToolJar(cfg)} --mergeReports ${reports.join(',')} " +
+        "--output $mergedReport")
+    deleteDir(partitionsDir.path)
+}
+
+def getDiffToolJar(cfg) {
+    synchronized (cfg) {
+        if (!cfg.diffToolJar) {
+            def diffToolDir = Paths.get("").toAbsolutePath()
+                .parent
+                .resolve("patch-diff-report-tool")
+                .toFile()
+            executeCmd("mvn -e --no-transfer-progress --batch-mode package -DskipTests", diffToolDir)
+            cfg.diffToolJar = getPathToDiffToolJar(diffToolDir)
+        }
+    }
+    return cfg.diffToolJar
+}
+
+def linkFile(Path source, Path target) {
+    Files.createDirectories(target.parent)
+    try {
+        Files.createLink(target, source)
+    }
+    catch (IOException | UnsupportedOperationException ignored) {
+        // hard links are not supported or directories are on different file stores
+        Files.copy(source, target, REPLACE_EXISTING)
+    }
+}
+
+def profileChecks(cfg, sourceDir, excludes, targetDir) {
+    synchronized (cfg) {
+        if (!cfg.profilerClasspath) {
+            cfg.profilerClasspath = getCheckstyleClasspath(cfg.localGitRepo)
+        }
+    }
+    def profile = getOsSpecificPath("$targetDir", 'checkstyle-profile.xml')
+    def profileCmd = "groovy -cp $cfg.profilerClasspath profile_checks.groovy -c $cfg.checkstyleCfg " +
+        "-s $sourceDir -o $profile"
+    if (excludes) {
+        profileCmd += " -e $excludes"
+    }
+    println "Profiling checks on $sourceDir ..."
+    executeCmd(profileCmd)
+}
+
+def getCheckstyleClasspath(checkstyleRepo) {
+    // classes are taken from the build of the installed branch, dependencies from Maven
+    def classpathFile = Files.createTempFile('checkstyle-classpath', '.txt').toFile()
+    executeCmd("mvn -e --no-transfer-progress --batch-mode dependency:build-classpath " +
+        "-DincludeScope=runtime -Dmdep.outputFile=$classpathFile.absolutePath", checkstyleRepo)
+    def classes = new File(checkstyleRepo, getOsSpecificPath('target', 'classes')).absolutePath
+    def classpath = classes + File.pathSeparator + classpathFile.text.trim()
+    classpathFile.delete()
+    return classpath
+}
+
+def checkoutProjectWorktree(mirrorsDir, project) {
+    if (!'git'.equals(project.repoType)) {
+        throw new IllegalArgumentException("Error! Unknown $project.repoType repository.")
+    }
+    // mirrors are named by url, so projects sharing a repository share a mirror too
+    def mirrorName = project.repoUrl.replaceAll('[^A-Za-z0-9._-]', '_')
+    def mirrorDir = new File(getOsSpecificPath("$mirrorsDir", "${mirrorName}.git")).absoluteFile
+    // worktree is a folder named by the project under its own root, which is checked by Checkstyle,
+    // as excludes of projects start with their names
+    def worktreeRootDir = new File(getOsSpecificPath('worktrees', "$project.repoName")).absoluteFile
+    def worktreeDir = new File(worktreeRootDir, "$project.repoName")
+    def commitId = project.commitId
+    if (!commitId) {
+        commitId = 'HEAD'
+    }
+
+    if (!mirrorDir.exists()) {
+        println "Mirroring $project.repoType repository '$project.repoName' to $mirrorDir.path ..."
+        executeCmdWithRetry("git clone --mirror $project.repoUrl $mirrorDir.path")
+    }
+    if (!isCommitInGitDir(mirrorDir, commitId)) {
+        println "Commit '$commitId' is not found in $mirrorDir.path, fetching ..."
+        executeCmdWithRetry("git --git-dir=$mirrorDir.path fetch --prune")
+    }
+
+    if (isWorktreeOfGitDir(worktreeDir, mirrorDir)) {
+        println "Checking out '$commitId' in worktree $worktreeDir.path"
+        executeCmd("git checkout --force --detach $commitId", worktreeDir)
+    }
+    else {
+        println "Adding worktree $worktreeDir.path at '$commitId'"
+        deleteDir(worktreeRootDir.path)
+        executeCmd("git --git-dir=$mirrorDir.path worktree prune")
+        executeCmd("git --git-dir=$mirrorDir.path worktree add --force --detach " +
+            "$worktreeDir.path $commitId")
+    }
+    println "$project.repoName is synchronized"
+    return worktreeDir.path
+}
+
+def isCommitInGitDir(gitDir, commitId) {
+    def revParseCmd = "git --git-dir=$gitDir.path rev-parse --verify --quiet $commitId^{commit}".execute()
+    revParseCmd.waitFor()
+    return revParseCmd.exitValue() == 0
+}
+
+def isWorktreeOfGitDir(worktreeDir, gitDir) {
+    def result = false
+    if (new File(worktreeDir, '.git').isFile()) {
+        def commonDirCmd = 'git rev-parse --path-format=absolute --git-common-dir'
+            .execute(null, worktreeDir)
+        def commonDir = commonDirCmd.text.trim()
+        commonDirCmd.waitFor()
+        result = commonDirCmd.exitValue() == 0 &&
+            new File(commonDir).canonicalPath == gitDir.canonicalPath
+    }
+    return result
+}
+
+def mergeShardReports(cfg) {
+    def branchDirs = [cfg.baseBranch, cfg.patchBranch]
+    cfg.mergeShards.split(',').collect { it.trim() }.each { shardReportsDir ->
+        println "Merging reports of shard $shardReportsDir ..."
+        (branchDirs + ['diff']).each { dirName ->
+            def shardDir = new File(shardReportsDir, dirName)
+            if (shardDir.isDirectory()) {
+                shardDir.eachDir { projectDir ->
+                    def mergedProjectDir = new File(getOsSpecificPath("$cfg.reportsDir", dirName,
+                        projectDir.name))
+                    if (mergedProjectDir.exists()) {
+                        throw new IllegalStateException("Error: project ${projectDir.name} " +
+                            "is present in more than one shard!")
+                    }
+                    copyDir(projectDir.path, mergedProjectDir.path)
                 }
-                postProcessCheckstyleReport(targetDir, repoName, repoPath)
-                deleteDir(getOsSpecificPath("$srcDir", "$repoName"))
-                moveDir(targetDir, getOsSpecificPath("$reportsDir", "$repoName"))
             }
+        }
+        def shardTimeline = new File(getOsSpecificPath(shardReportsDir, 'diff', Timeline.JSON_FILE_NAME))
+        if (shardTimeline.exists()) {
+            // summary of the shard is replaced by the summary of the merged report
+            cfg.timeline.spans.addAll(new JsonSlurper().parse(shardTimeline)
+                .findAll { it.phase != 'summary' })
+        }
     }
+    new File(cfg.diffDir).mkdirs()
+}
 
-    // restore empty_file to make src directory tracked by git
-    new File(getOsSpecificPath("$srcDir", "empty_file")).createNewFile()
+def getReportCacheEntry(cfg, project, repoPath) {
+    def cacheEntry = null
+    // reports of local projects are not cached as their sources are not pinned to a commit,
+    // runtime is measured by fresh runs only, as cached runtime of another run is not comparable
+    if (cfg.reportsCacheDir && cfg.checkstyleCommitSha && project.repoType != 'local'
+            && !cfg.runtimeRepeats) {
+        def cacheKey = [
+            "checkstyle: $cfg.checkstyleCommitSha",
+            "config: ${getSha256(new File(cfg.checkstyleCfg).bytes)}",
+            "project: $project.repoName",
+            "project commit: ${getLastProjectCommitSha(project.repoType, repoPath)}",
+            "project path: $repoPath",
+            "excludes: $project.excludes",
+            "extra maven options: $cfg.extraMvnRegressionOptions",
+        ]
+        if (cfg.profileChecks) {
+            cacheKey.add('profile: true')
+        }
+        cacheKey = cacheKey.join('\n')
+        def cacheEntryName = "$project.repoName-${getSha256(cacheKey.getBytes('UTF-8'))}"
+        cacheEntry = new File(getOsSpecificPath("$cfg.reportsCacheDir", cacheEntryName))
+    }
+    return cacheEntry
+}
+
+def saveReportToCache(targetDir, cacheEntry) {
+    println "Saving Checkstyle report to cache $cacheEntry.path"
+    // entry is renamed into place when complete, so interrupted runs leave no partial entries
+    def tmpCacheEntry = new File("${cacheEntry.path}.tmp")
+    deleteDir(tmpCacheEntry.path)
+    copyDir(targetDir, tmpCacheEntry.path)
+    Files.move(tmpCacheEntry.toPath(), cacheEntry.toPath(), ATOMIC_MOVE)
+}
+
+def getSha256(bytes) {
+    return MessageDigest.getInstance('SHA-256').digest(bytes).encodeHex().toString()
 }
 
 def getLastCheckstyleCommitSha(gitRepo, branch) {
@@ -452,13 +1124,22 @@ def executeCmdWithRetry(cmd, dir = new File("").getAbsoluteFile(), retry = 5) {
     }
 }
 
-def generateDiffReport(cfg) {
+def buildDiffTool(cfg) {
     def diffToolDir = Paths.get("").toAbsolutePath()
         .parent
         .resolve("patch-diff-report-tool")
         .toFile()
-    executeCmd("mvn -e --no-transfer-progress --batch-mode clean package -DskipTests", diffToolDir)
-    def diffToolJarPath = getPathToDiffToolJar(diffToolDir)
+    cfg.timeline.measure('', '', 'diff-tool build') {
+        executeCmd("mvn -e --no-transfer-progress --batch-mode clean package -DskipTests -Pcds", diffToolDir)
+    }
+    return getPathToDiffToolJar(diffToolDir)
+}
+
+def generateDiffReport(cfg) {
+    def diffToolJarPath = buildDiffTool(cfg)
+    // class data sharing archive of the tool speeds up its startup for every project
+    def diffToolArchive = new File(diffToolJarPath.replace('-jar-with-dependencies.jar', '.jsa'))
+    def diffToolJvmOptions = diffToolArchive.exists() ? "-XX:SharedArchiveFile=$diffToolArchive.path " : ''
 
     println 'Starting diff report generation ...'
     Paths.get(cfg.patchReportsDir).toFile().eachFile {
@@ -469,7 +1150,7 @@ def generateDiffReport(cfg) {
                 if (patchReportDir.exists()) {
                     def patchReport = "$cfg.patchReportsDir/$projectName/checkstyle-result.xml"
                     def outputDir = "$cfg.reportsDir/diff/$projectName"
-                    def diffCmd = """java -jar $diffToolJarPath --patchReport $patchReport
+                    def diffCmd = """java ${diffToolJvmOptions}-jar $diffToolJarPath --patchReport $patchReport
                         --output $outputDir --patchConfig $cfg.patchConfig"""
                     if ('diff'.equals(cfg.mode)) {
                         def baseReport = "$cfg.masterReportsDir/$projectName/checkstyle-result.xml"
@@ -478,7 +1159,12 @@ def generateDiffReport(cfg) {
                     if (cfg.shortFilePaths) {
                         diffCmd += ' --shortFilePaths'
                     }
-                    executeCmd(diffCmd)
+                    def baseProfile = new File("$cfg.masterReportsDir/$projectName/checkstyle-profile.xml")
+                    def patchProfile = new File("$cfg.patchReportsDir/$projectName/checkstyle-profile.xml")
+                    if ('diff'.equals(cfg.mode) && baseProfile.exists() && patchProfile.exists()) {
+                        diffCmd += " --baseProfile $baseProfile.path --patchProfile $patchProfile.path"
+                    }
+                    runDiffTool(diffCmd, cfg.timeline, projectName)
                 } else {
                     def exMsg = "Error: patch report for project $projectName is not found!"
                     throw new FileNotFoundException(exMsg)
@@ -488,6 +1174,41 @@ def generateDiffReport(cfg) {
     println 'Diff report generation finished ...'
 }
 
+def runDiffTool(diffCmd, timeline, projectName) {
+    // stages of the diff tool are timed by the messages it prints when a stage starts
+    def stageMessages = [
+        'XML parsing is started.': 'diff-tool parse',
+        'File parsing is started.': 'diff-tool parse',
+        'Creation of configuration report is started.': 'diff-tool config',
+        'Creation of performance report is started.': 'diff-tool profile',
+        'Creation of diff html site is started.': 'site render',
+        'patch-diff-report-tool execution finished.': null,
+    ]
+    println "Running command: ${diffCmd}"
+    def proc = getOsSpecificCmd(diffCmd).execute()
+    proc.consumeProcessErrorStream(System.err)
+    def stage = 'diff-tool startup'
+    def stageStart = System.currentTimeMillis()
+    proc.inputStream.eachLine { line ->
+        println line
+        if (stageMessages.containsKey(line)) {
+            def now = System.currentTimeMillis()
+            if (stage) {
+                timeline.add('', projectName, stage, stageStart, now)
+            }
+            stage = stageMessages[line]
+            stageStart = now
+        }
+    }
+    proc.waitFor()
+    if (stage) {
+        timeline.add('', projectName, stage, stageStart, System.currentTimeMillis())
+    }
+    if (proc.exitValue() != 0) {
+        throw new GroovyRuntimeException("Error: diff tool failed for $projectName!")
+    }
+}
+
 def getPathToDiffToolJar(diffToolDir) {
     def targetDir = diffToolDir.absolutePath + '/target/'
     def pathToDiffToolJar
@@ -519,7 +1240,8 @@ def getTextTransform() {
 }
 
 def generateSummaryIndexHtml(diffDir, checkstyleBaseReportInfo,
-                             checkstylePatchReportInfo, configFilesList, allowExcludes) {
+                             checkstylePatchReportInfo, configFilesList, allowExcludes, timeline,
+                             runtimeComparison, runtimeThreshold) {
     println 'Starting creating report summary page ...'
     def projectsStatistic = getProjectsStatistic(diffDir)
     def summaryIndexHtml = new File("$diffDir/index.html")
@@ -558,11 +1280,71 @@ def generateSummaryIndexHtml(diffDir, checkstyleBaseReportInfo,
             summaryIndexHtml << ('<br />')
             summaryIndexHtml << ('\n')
     }
+    printRuntimeSection(summaryIndexHtml, runtimeComparison, runtimeThreshold)
+    printSlowestProjectsSection(summaryIndexHtml, timeline)
     summaryIndexHtml << ('</body></html>')
 
     println 'Creating report summary page finished...'
 }
 
+def printRuntimeSection(summaryIndexHtml, runtimeComparison, runtimeThreshold) {
+    if (runtimeComparison.isEmpty()) {
+        return
+    }
+    def regressionsCount = runtimeComparison.count { it.regression }
+    summaryIndexHtml << ("<h6>Checkstyle runtime (median seconds of the whole Maven execution, " +
+        "including JVM startup and site plugins, and peak memory in MB, patch is " +
+        "flagged when it is more than ${runtimeThreshold}% slower)</h6>")
+    summaryIndexHtml << ('\n')
+    if (regressionsCount > 0) {
+        summaryIndexHtml << ('<h3><span style="color: #ff0000;">')
+        summaryIndexHtml << ("<strong>WARNING: Patch is slower on $regressionsCount project(s).</strong>")
+        summaryIndexHtml << ('</span></h3>')
+    }
+    summaryIndexHtml << ('<table border="1"><tr><th>Project</th><th>Base time</th><th>Patch time</th>' +
+        '<th>Slowdown</th><th>Base memory</th><th>Patch memory</th></tr>\n')
+    runtimeComparison.each {
+        def style = it.regression ? ' style="color: red;"' : ''
+        summaryIndexHtml << ("<tr$style><td>$it.project</td><td>${formatSeconds(it.baseMillis)}</td>" +
+            "<td>${formatSeconds(it.patchMillis)}</td>" +
+            "<td>${String.format(Locale.ENGLISH, '%+.1f%%', it.slowdown)}</td>" +
+            "<td>${formatMegabytes(it.baseRssKb)}</td><td>${formatMegabytes(it.patchRssKb)}</td></tr>\n")
+    }
+    summaryIndexHtml << ('</table>')
+}
+
+def formatMegabytes(kilobytes) {
+    return kilobytes == null ? 'n/a' : String.format(Locale.ENGLISH, '%.1f', kilobytes / 1024.0)
+}
+
+def printSlowestProjectsSection(summaryIndexHtml, timeline) {
+    def slowestProjectsCount = 10
+    def projectDurations = timeline.getProjectDurations()
+    if (projectDurations.isEmpty()) {
+        return
+    }
+    def phases = projectDurations.values().collectMany { it.keySet() }.unique()
+
+    summaryIndexHtml << ('<h6>Slowest projects (seconds, see ')
+    summaryIndexHtml << ("<a href='${Timeline.JSON_FILE_NAME}'>${Timeline.JSON_FILE_NAME}</a> and ")
+    summaryIndexHtml << ("<a href='${Timeline.CSV_FILE_NAME}'>${Timeline.CSV_FILE_NAME}</a>)</h6>")
+    summaryIndexHtml << ('\n')
+    summaryIndexHtml << ('<table border="1"><tr><th>Project</th><th>Total</th>')
+    phases.each { summaryIndexHtml << ("<th>$it</th>") }
+    summaryIndexHtml << ('</tr>\n')
+    projectDurations.sort { -it.value.values().sum() }.take(slowestProjectsCount).each {
+        project, durations ->
+            summaryIndexHtml << ("<tr><td>$project</td><td>${formatSeconds(durations.values().sum())}</td>")
+            phases.each { summaryIndexHtml << ("<td>${formatSeconds(durations[it] ?: 0)}</td>") }
+            summaryIndexHtml << ('</tr>\n')
+    }
+    summaryIndexHtml << ('</table>')
+}
+
+def formatSeconds(millis) {
+    return String.format(Locale.ENGLISH, '%.1f', millis / 1000.0)
+}
+
 def printConfigSection(diffDir, configFilesList, summaryIndexHtml) {
     def textTransform = getTextTransform()
     for (filename in configFilesList) {
@@ -683,13 +1465,11 @@ def getProjectsStatistic(diffDir) {
     return projectsStatistic
 }
 
-def runMavenExecution(srcDir, excludes, checkstyleConfig,
-                      checkstyleVersion, extraMvnRegressionOptions) {
-    println "Running 'mvn clean' on $srcDir ..."
-    def mvnClean = "mvn -e --no-transfer-progress --batch-mode clean"
-    executeCmd(mvnClean)
-    println "Running Checkstyle on $srcDir ... with excludes {$excludes}"
+def runMavenExecution(srcDir, targetDir, excludes, checkstyleConfig,
+                      checkstyleVersion, extraMvnRegressionOptions, runtimeRepeats = 0) {
+    def mvnClean = "mvn -e --no-transfer-progress --batch-mode clean -Dtester.buildDirectory=$targetDir"
     def mvnSite = "mvn -e --no-transfer-progress --batch-mode site " +
+        "-Dtester.sourceDirectory=$srcDir -Dtester.buildDirectory=$targetDir " +
         "-Dcheckstyle.config.location=$checkstyleConfig -Dcheckstyle.excludes=$excludes"
     if (checkstyleVersion) {
         mvnSite = mvnSite + " -Dcheckstyle.version=$checkstyleVersion"
@@ -702,24 +1482,172 @@ def runMavenExecution(srcDir, excludes, checkstyleConfig,
         }
         mvnSite = mvnSite + extraMvnRegressionOptions
     }
-    println(mvnSite)
-    executeCmd(mvnSite)
+    // every run starts from 'mvn clean', as the plugin skips files cached by the previous run
+    def runtimeSamples = []
+    def runs = runtimeRepeats ? runtimeRepeats as int : 1
+    runs.times { run ->
+        println "Running 'mvn clean' on $srcDir ..."
+        executeCmd(mvnClean)
+        println "Running Checkstyle on $srcDir ... with excludes {$excludes}"
+        println(mvnSite)
+        if (runtimeRepeats) {
+            println "Measuring runtime of Maven execution, run ${run + 1} of $runs"
+            runtimeSamples.add(measureRuntime { executeCmd(mvnSite) })
+        }
+        else {
+            executeCmd(mvnSite)
+        }
+    }
     println "Running Checkstyle on $srcDir - finished"
+    return runtimeSamples
 }
 
-def postProcessCheckstyleReport(targetDir, repoName, repoPath) {
-    def checkstyleResultFile = new File(getOsSpecificPath("$targetDir", "checkstyle-result.xml"))
-    def oldPath = new File(getOsSpecificPath("src", "main", "java", "$repoName")).absolutePath
-    def newPath = getOsSpecificPath("$repoPath")
-    def tempFile = Files.createTempFile("temp", ".xml").toFile()
+def measureRuntime(Closure execution) {
+    def samplingMillis = 100
+    def peakRssKb = -1L
+    def finished = new CountDownLatch(1)
+    // peak RSS is sampled from all processes started by this script, as Maven runs Checkstyle
+    def sampler = Thread.start {
+        while (!finished.await(samplingMillis, TimeUnit.MILLISECONDS)) {
+            ProcessHandle.current().descendants().each {
+                peakRssKb = Math.max(peakRssKb, getPeakRssKb(it.pid()))
+            }
+        }
+    }
+    def start = System.currentTimeMillis()
+    try {
+        execution()
+    }
+    finally {
+        finished.countDown()
+        sampler.join()
+    }
+    return [wallMillis: System.currentTimeMillis() - start,
+            peakRssKb: peakRssKb < 0 ? null : peakRssKb]
+}
 
-    tempFile.withWriter { writer ->
-        checkstyleResultFile.eachLine { line ->
-            writer.writeLine(line.replace(oldPath, newPath))
+def getPeakRssKb(pid) {
+    def peakRssKb = -1L
+    // VmHWM is the peak resident set size of a process, it is available on Linux only
+    def status = new File("/proc/$pid/status")
+    try {
+        def peakLine = status.readLines().find { it.startsWith('VmHWM:') }
+        if (peakLine) {
+            peakRssKb = Long.parseLong(peakLine.replaceAll('\\D', ''))
         }
     }
-    Files.copy(tempFile.toPath(), checkstyleResultFile.toPath(), REPLACE_EXISTING)
-    tempFile.delete()
+    catch (IOException ignored) {
+        // process is already finished or the platform has no procfs
+    }
+    return peakRssKb
+}
+
+def writeRuntimeSamples(runtimeSamples, targetDir) {
+    def runtimeFile = new File(getOsSpecificPath("$targetDir", 'checkstyle-runtime.json'))
+    runtimeFile.text = JsonOutput.prettyPrint(JsonOutput.toJson([
+        wallMillis: runtimeSamples.collect { it.wallMillis },
+        peakRssKb: runtimeSamples.collect { it.peakRssKb },
+    ]))
+}
+
+def compareRuntime(masterReportsDir, patchReportsDir, runtimeThreshold) {
+    def comparison = []
+    new File(patchReportsDir).eachDir { patchProjectDir ->
+        def baseRuntimeFile = new File("$masterReportsDir/$patchProjectDir.name/checkstyle-runtime.json")
+        def patchRuntimeFile = new File(patchProjectDir, 'checkstyle-runtime.json')
+        if (baseRuntimeFile.exists() && patchRuntimeFile.exists()) {
+            def baseRuntime = new JsonSlurper().parse(baseRuntimeFile)
+            def patchRuntime = new JsonSlurper().parse(patchRuntimeFile)
+            def baseMillis = getMedian(baseRuntime.wallMillis)
+            def patchMillis = getMedian(patchRuntime.wallMillis)
+            def slowdown = baseMillis > 0 ? (patchMillis - baseMillis) * 100.0 / baseMillis : 0
+            comparison.add([
+                project: patchProjectDir.name,
+                baseMillis: baseMillis,
+                patchMillis: patchMillis,
+                slowdown: slowdown,
+                baseRssKb: getMedian(baseRuntime.peakRssKb.findAll { it != null }),
+                patchRssKb: getMedian(patchRuntime.peakRssKb.findAll { it != null }),
+                regression: slowdown > runtimeThreshold,
+            ])
+        }
+    }
+    comparison.sort { -it.slowdown }
+    comparison.findAll { it.regression }.each {
+        println "WARNING: Maven execution of Checkstyle is " +
+            "${String.format(Locale.ENGLISH, '%.1f', it.slowdown)}% slower on $it.project in the patch branch"
+    }
+    return comparison
+}
+
+def getMedian(values) {
+    def median = null
+    if (values) {
+        def sorted = values.sort(false)
+        median = sorted[(int) ((sorted.size() - 1) / 2)]
+    }
+    return median
+}
+
+def postProcessCheckstyleReport(targetDir, srcDir, repoPath) {
+    def checkstyleResultFile = new File(getOsSpecificPath("$targetDir", "checkstyle-result.xml")).toPath()
+    replacePathInReport(checkstyleResultFile, new File("$srcDir").absolutePath,
+        getOsSpecificPath("$repoPath"))
+}
+
+def replacePathInReport(Path checkstyleResultFile, oldPath, newPath) {
+    // temporary file is kept next to the report, so it replaces the report by a rename
+    def tempFile = checkstyleResultFile.resolveSibling("${checkstyleResultFile.fileName}.tmp")
+    def bufferSize = 1 << 16
+
+    new BufferedInputStream(Files.newInputStream(checkstyleResultFile), bufferSize).withCloseable { input ->
+        new BufferedOutputStream(Files.newOutputStream(tempFile), bufferSize).withCloseable { output ->
+            replaceBytes(input, output, oldPath.getBytes(UTF_8), newPath.getBytes(UTF_8))
+        }
+    }
+    Files.move(tempFile, checkstyleResultFile, REPLACE_EXISTING, ATOMIC_MOVE)
+}
+
+/**
+ * Copies the input to the output in a single pass, replacing every occurrence of the pattern
+ * bytes by the replacement bytes (Knuth-Morris-Pratt search, no byte of input is read twice).
+ */
+@CompileStatic
+static void replaceBytes(InputStream input, OutputStream output, byte[] pattern, byte[] replacement) {
+    int[] fallback = new int[pattern.length]
+    int prefix = 0
+    for (int i = 1; i < pattern.length; i++) {
+        while (prefix > 0 && pattern[i] != pattern[prefix]) {
+            prefix = fallback[prefix - 1]
+        }
+        if (pattern[i] == pattern[prefix]) {
+            prefix++
+        }
+        fallback[i] = prefix
+    }
+
+    int matched = 0
+    int value = input.read()
+    while (value != -1) {
+        byte current = (byte) value
+        while (matched > 0 && current != pattern[matched]) {
+            // bytes which can not start an occurrence anymore are written as is
+            output.write(pattern, 0, matched - fallback[matched - 1])
+            matched = fallback[matched - 1]
+        }
+        if (current == pattern[matched]) {
+            matched++
+            if (matched == pattern.length) {
+                output.write(replacement)
+                matched = 0
+            }
+        }
+        else {
+            output.write(value)
+        }
+        value = input.read()
+    }
+    output.write(pattern, 0, matched)
 }
 
 def copyDir(source, destination) {
@@ -727,6 +1655,10 @@ def copyDir(source, destination) {
     Path destinationDir = new File(destination).toPath().toAbsolutePath().normalize()
 
     Files.walkFileTree(sourceDir, new SimpleFileVisitor<Path>() {
+        // files are hard linked instead of copied while file system supports it,
+        // copied files are never modified in place, so they can share data with sources
+        boolean useHardLinks = true
+
         @Override
         FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
 
@@ -742,15 +1674,43 @@ def copyDir(source, destination) {
         FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
 
             Path targetFile = destinationDir.resolve(sourceDir.relativize(file))
-            Files.copy(file, targetFile, REPLACE_EXISTING)
+            if (useHardLinks) {
+                try {
+                    Files.deleteIfExists(targetFile)
+                    Files.createLink(targetFile, file)
+                }
+                catch (IOException | UnsupportedOperationException ignored) {
+                    // hard links are not supported or directories are on different file stores
+                    useHardLinks = false
+                }
+            }
+            if (!useHardLinks) {
+                Files.copy(file, targetFile, REPLACE_EXISTING)
+            }
             return FileVisitResult.CONTINUE
         }
     })
 }
 
 def moveDir(source, destination) {
-    copyDir(source, destination)
-    deleteDir(source)
+    Path sourceDir = new File(source).toPath().toAbsolutePath().normalize()
+    Path destinationDir = new File(destination).toPath().toAbsolutePath().normalize()
+    def isMoved = false
+
+    if (!Files.exists(destinationDir)) {
+        Files.createDirectories(destinationDir.parent)
+        try {
+            Files.move(sourceDir, destinationDir, ATOMIC_MOVE)
+            isMoved = true
+        }
+        catch (IOException ignored) {
+            // directories are on different file stores, so they can be only copied
+        }
+    }
+    if (!isMoved) {
+        copyDir(source, destination)
+        deleteDir(source)
+    }
 }
 
 def deleteDir(dir) {
@@ -864,6 +1824,18 @@ class ToolConfig {
     def sevntuVersion
     def allowExcludes
     def useShallowClone
+    def incremental
+    def reportsCacheDir
+    def mirrorsDir
+    def profileChecks
+    def runtimeRepeats
+    def runtimeThreshold
+    def shard
+    def projectCosts
+    def jobs
+    def partitions
+    def mergeShards
+    def timeline
 
     ToolConfig(cliOptions) {
         if (cliOptions.localGitRepo) {
@@ -877,6 +1849,18 @@ class ToolConfig {
         checkstyleVersion = cliOptions.checkstyleVersion
         allowExcludes = cliOptions.allowExcludes
         useShallowClone = cliOptions.useShallowClone
+        incremental = cliOptions.incremental
+        reportsCacheDir = cliOptions.reportsCacheDir
+        mirrorsDir = cliOptions.mirrorsDir
+        profileChecks = cliOptions.profileChecks
+        runtimeRepeats = cliOptions.runtimeRepeats ? cliOptions.runtimeRepeats as int : 0
+        runtimeThreshold = cliOptions.runtimeThreshold ? cliOptions.runtimeThreshold as BigDecimal : 10
+        shard = cliOptions.shard
+        projectCosts = cliOptions.projectCosts
+        jobs = cliOptions.jobs ? cliOptions.jobs as int : 1
+        partitions = cliOptions.partitions ? cliOptions.partitions as int : 1
+        mergeShards = cliOptions.mergeShards
+        timeline = new Timeline()
 
         mode = cliOptions.mode
         if (!mode) {
@@ -924,6 +1908,15 @@ class ToolConfig {
             listOfProjects: listOfProjects,
             destDir: tmpMasterReportsDir,
             extraMvnRegressionOptions: extraMvnRegressionOptions,
+            reportsCacheDir: reportsCacheDir,
+            mirrorsDir: mirrorsDir,
+            profileChecks: profileChecks,
+            runtimeRepeats: runtimeRepeats,
+            shard: shard,
+            projectCosts: projectCosts,
+            jobs: jobs,
+            partitions: partitions,
+            timeline: timeline,
             allowExcludes:allowExcludes,
             useShallowClone: useShallowClone,
         ]
@@ -937,6 +1930,15 @@ class ToolConfig {
             listOfProjects: listOfProjects,
             destDir: tmpPatchReportsDir,
             extraMvnRegressionOptions: extraMvnRegressionOptions,
+            reportsCacheDir: reportsCacheDir,
+            mirrorsDir: mirrorsDir,
+            profileChecks: profileChecks,
+            runtimeRepeats: runtimeRepeats,
+            shard: shard,
+            projectCosts: projectCosts,
+            jobs: jobs,
+            partitions: partitions,
+            timeline: timeline,
             allowExcludes: allowExcludes,
             useShallowClone: useShallowClone,
         ]
@@ -951,8 +1953,51 @@ class ToolConfig {
             patchConfig: patchConfig,
             shortFilePaths: shortFilePaths,
             mode: mode,
+            timeline: timeline,
             allowExcludes: allowExcludes,
             useShallowClone: useShallowClone,
         ]
     }
 }
+
+class Timeline {
+    static final String JSON_FILE_NAME = 'timeline.json'
+    static final String CSV_FILE_NAME = 'timeline.csv'
+
+    def spans = []
+
+    def measure(branch, project, phase, Closure action) {
+        def start = System.currentTimeMillis()
+        try {
+            return action()
+        }
+        finally {
+            add(branch, project, phase, start, System.currentTimeMillis())
+        }
+    }
+
+    synchronized def add(branch, project, phase, start, end) {
+        spans.add([branch: branch, project: project, phase: phase, start: start,
+            durationMillis: end - start])
+    }
+
+    def getProjectDurations() {
+        def projectDurations = [:]
+        spans.findAll { it.project }.each { span ->
+            def durations = projectDurations.computeIfAbsent(span.project) { [:] }
+            durations[span.phase] = (durations[span.phase] ?: 0) + span.durationMillis
+        }
+        return projectDurations
+    }
+
+    def write(diffDir) {
+        new File("$diffDir/$JSON_FILE_NAME").text = JsonOutput.prettyPrint(JsonOutput.toJson(spans))
+        new File("$diffDir/$CSV_FILE_NAME").withWriter { writer ->
+            writer.writeLine('branch,project,phase,start,durationMillis')
+            spans.each {
+                writer.writeLine("$it.branch,$it.project,$it.phase,$it.start,$it.durationMillis")
+            }
+        }
+        println "Timeline of the run is saved to $diffDir/$JSON_FILE_NAME and $diffDir/$CSV_FILE_NAME"
+    }
+}
@@ -7,6 +7,9 @@
 //  -p , --patchBranch<branch_name> Name of the branch run check regression reports
 //      for (required).
 //  -t , --configDir<path> Location where configurations reside(required).
+//  -s , --singleSweep Run all configurations in one Checkstyle pass per project
+//      (optional, default is one diff.groovy run per configuration).
+//  -j , --jobs<count> Number of configurations to run concurrently (optional, default is 1).
 //
 // Examples (note that we have used '\' as a line continuation, as in BASH):
 //
@@ -28,8 +31,35 @@
 // configuration files that you will target for check regression. See
 // https://github.com/checkstyle/contribution/tree/master/checkstyle-tester#check-regression-report
 // for more information about best practices for separating checks.
+//
+// With -singleSweep all configurations are merged into a single one, so every project is
+// cloned and every file is parsed only once per branch and all checks of all configurations
+// are run on the same AST. Checkstyle reports are split by the source of every violation to
+// produce a separate diff report per configuration: ids of checks are kept, and checks without
+// id are recognized by their class, unless the same check has no id in several configurations,
+// then it gets an id "<config name>#<module name>", which is replaced back by its class name.
+// Configurations can be merged only if they differ in checks only and ids of their checks
+// are unique across configurations, otherwise the script falls back to one diff.groovy run
+// per configuration.
+//
+// With -jobs greater than 1 every configuration is run in its own working directory under
+// <outputDir>/work, which has copies of checkstyle-tester and patch-diff-report-tool, a shared
+// clone of the Checkstyle repository and a local Maven repository chained to the default one
+// (Maven 3.9+), so concurrent runs do not share checkouts, reports or installed artifacts.
+// Output of every run is saved to <report directory>/logs/<config name>.log and index.html
+// of the report directory links reports of all configurations.
 ///////////////////////////////////////////////////////////////////////////////////////////////
 
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING
+
+import java.nio.file.Files
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import groovy.io.FileType
+import groovy.xml.XmlNodePrinter
+import groovy.xml.XmlParser
+
 static void main(String[] args) {
     def cliOptions = getCliOptions(args)
         def checkstyleRepoDir = cliOptions.checkstyleDir
@@ -50,34 +80,434 @@ static void main(String[] args) {
 
         println "Report files will populate in ${reportDirectoryPath}"
 
-        File folder = new File(configFilesDir)
-        folder.eachFile { file ->
-            if (file.name.endsWith(".xml")) {
+        def configFiles = new File(configFilesDir).listFiles()
+            .findAll { it.name.endsWith(".xml") }
+            .sort { it.name }
+        def mergedConfig = null
+        if (cliOptions.singleSweep) {
+            mergedConfig = mergeConfigs(configFiles, reportDirectoryPath, checkstyleRepoDir)
+        }
+
+        if (mergedConfig) {
+            runSingleSweep(checkstyleRepoDir, patchBranch, projectsToTestOn, configFiles,
+                mergedConfig, reportDirectoryPath)
+        }
+        else {
+            def jobs = cliOptions.jobs ? cliOptions.jobs as int : 1
+            runPerConfig(checkstyleRepoDir, patchBranch, projectsToTestOn, configFiles,
+                reportDirectoryPath, jobs)
+        }
+}
+
+def runPerConfig(checkstyleRepoDir, patchBranch, projectsToTestOn, configFiles,
+        reportDirectoryPath, jobs) {
+    def workDir = new File(reportDirectoryPath, "work").absoluteFile
+    def logsDir = new File(reportDirectoryPath, "logs")
+    def executor = Executors.newFixedThreadPool(jobs)
+    def exitCodes = [:]
+    try {
+        def futures = configFiles.collectEntries { file ->
+            def configName = file.name.take(file.name.lastIndexOf('.'))
+            def sandboxDir = null
+            def logFile = null
+            if (jobs > 1) {
+                sandboxDir = new File(workDir, configName)
+                logFile = new File(logsDir, configName + ".log")
+            }
+            [(configName): executor.submit({
+                runConfig(checkstyleRepoDir, patchBranch, projectsToTestOn, file,
+                    new File(reportDirectoryPath, "diff_report_" + configName), sandboxDir, logFile)
+            } as Callable)]
+        }
+        futures.each { configName, future ->
+            try {
+                exitCodes[configName] = future.get()
+            }
+            catch (ExecutionException ex) {
+                System.err.println "Error: check regression report of ${configName} failed"
+                ex.cause.printStackTrace()
+                exitCodes[configName] = -1
+            }
+        }
+    }
+    finally {
+        executor.shutdown()
+    }
+    workDir.deleteDir()
+    generateConsolidatedIndexHtml(reportDirectoryPath, exitCodes, logsDir)
+}
+
+def runConfig(checkstyleRepoDir, patchBranch, projectsToTestOn, configFile, reportDir,
+        sandboxDir, logFile) {
+    def testerDir = new File("").absoluteFile
+    def repoDir = new File(checkstyleRepoDir).absoluteFile
+    def environment = null
+    def out = System.out
+    def err = System.err
+    if (sandboxDir != null) {
+        testerDir = createSandbox(sandboxDir, repoDir)
+        repoDir = new File(sandboxDir, "checkstyle")
+        environment = getSandboxEnvironment(sandboxDir)
+        logFile.parentFile.mkdirs()
+        out = new PrintStream(new FileOutputStream(logFile), true)
+        err = out
+    }
+
+    println "Running check regression report using config file ${configFile}"
+    def command = ["groovy", "diff.groovy", "-r", repoDir.path, "-b", "master",
+        "-p", patchBranch, "-c", configFile.absolutePath,
+        "-l", projectsToTestOn.absolutePath]
+    def exitCode
+    try {
+        def process = command.execute(environment, testerDir)
+        process.waitForProcessOutput(out, err)
+        exitCode = process.exitValue()
+    }
+    finally {
+        if (out != System.out) {
+            out.close()
+        }
+    }
 
-                println "Running check regression report using config file ${file.toString()}"
-                String command = "groovy diff.groovy -r ${checkstyleRepoDir} -b" +
-                    " master -p ${patchBranch} -c ${file.toString()}" +
-                    " -l ${projectsToTestOn.toString()}"
+    if (exitCode == 0) {
+        println "Moving report of ${configFile.name} to ${reportDir}/..."
+        reportDir.deleteDir()
+        moveDir(new File(testerDir, "reports/diff"), reportDir)
+    }
+    else {
+        System.err.println "Error: check regression report using config file ${configFile}" +
+            " failed with exit code ${exitCode}"
+    }
+    if (sandboxDir != null) {
+        sandboxDir.deleteDir()
+    }
+    return exitCode
+}
 
-                try {
-                   println command.execute().text;
-                } catch (Exception e) {
-                    e.printStackTrace();
+def createSandbox(sandboxDir, checkstyleRepoDir) {
+    sandboxDir.deleteDir()
+    def testerDir = new File(sandboxDir, "checkstyle-tester")
+    testerDir.mkdirs()
+    // work directories of the tool are not copied, every run creates its own
+    new File("").absoluteFile.eachFile(FileType.FILES) { file ->
+        Files.copy(file.toPath(), new File(testerDir, file.name).toPath(), REPLACE_EXISTING)
+    }
+    def diffToolDir = new File("../patch-diff-report-tool").canonicalFile
+    diffToolDir.eachFile { file ->
+        if (file.name != "target") {
+            copyDir(file, new File(sandboxDir, "patch-diff-report-tool/${file.name}"))
+        }
+    }
+
+    // branches are checked out in the clone, objects are shared with the original repository
+    def checkstyleDir = new File(sandboxDir, "checkstyle")
+    executeCommand(["git", "clone", "--quiet", "--shared", checkstyleRepoDir.path,
+        checkstyleDir.path], sandboxDir)
+    executeCommand(["git", "fetch", "--quiet", "--update-head-ok", "origin",
+        "+refs/heads/*:refs/heads/*"], checkstyleDir)
+    return testerDir
+}
+
+def getSandboxEnvironment(sandboxDir) {
+    // artifacts installed by the run go to its own repository, the rest is read from the default one
+    def localRepository = new File(sandboxDir, "m2-repository")
+    def defaultRepository = new File(System.getProperty("user.home"), ".m2/repository")
+    def mavenOpts = (System.getenv("MAVEN_OPTS") ?: "") +
+        " -Dmaven.repo.local=${localRepository.absolutePath}" +
+        " -Dmaven.repo.local.tail=${defaultRepository.absolutePath}"
+    def environment = new HashMap(System.getenv())
+    environment.put("MAVEN_OPTS", mavenOpts.trim())
+    return environment.collect { key, value -> "${key}=${value}" }
+}
+
+def executeCommand(command, dir) {
+    def process = command.execute(null, dir)
+    process.waitForProcessOutput(System.out, System.err)
+    if (process.exitValue() != 0) {
+        throw new IllegalStateException("Error: '${command.join(' ')}' failed with exit code " +
+            process.exitValue())
+    }
+}
+
+def copyDir(source, destination) {
+    if (source.isDirectory()) {
+        destination.mkdirs()
+        source.eachFile { copyDir(it, new File(destination, it.name)) }
+    }
+    else {
+        Files.copy(source.toPath(), destination.toPath(), REPLACE_EXISTING)
+    }
+}
+
+def moveDir(source, destination) {
+    destination.parentFile.mkdirs()
+    if (!source.renameTo(destination)) {
+        // directories are on different file systems
+        copyDir(source, destination)
+        source.deleteDir()
+    }
+}
+
+def generateConsolidatedIndexHtml(reportDirectoryPath, exitCodes, logsDir) {
+    def indexHtml = new File(reportDirectoryPath, "index.html")
+    indexHtml.withWriter { writer ->
+        writer.writeLine("<html><head><title>Check regression reports</title></head><body>")
+        writer.writeLine("<h3>Check regression reports</h3>")
+        writer.writeLine("<table border=\"1\"><tr><th>Config</th><th>Status</th><th>Log</th></tr>")
+        exitCodes.each { configName, exitCode ->
+            def report = configName
+            def status = "failed (exit code ${exitCode})"
+            if (exitCode == 0) {
+                report = "<a href=\"diff_report_${configName}/index.html\">${configName}</a>"
+                status = "finished"
+            }
+            def log = ""
+            if (new File(logsDir, configName + ".log").exists()) {
+                log = "<a href=\"logs/${configName}.log\">log</a>"
+            }
+            writer.writeLine("<tr><td>${report}</td><td>${status}</td><td>${log}</td></tr>")
+        }
+        writer.writeLine("</table></body></html>")
+    }
+    println "Index of all reports is saved to ${indexHtml}"
+}
+
+def runSingleSweep(checkstyleRepoDir, patchBranch, projectsToTestOn, configFiles, mergedConfig,
+        reportDirectoryPath) {
+    println "Running check regression report for all config files using ${mergedConfig.path}"
+    String command = "groovy diff.groovy -r ${checkstyleRepoDir} -b master" +
+        " -p ${patchBranch} -c ${mergedConfig.path} -l ${projectsToTestOn}"
+    def process = command.execute()
+    process.consumeProcessOutput(System.out, System.err)
+    if (process.waitFor() != 0) {
+        throw new IllegalStateException("Error: '$command' failed with exit code ${process.exitValue()}")
+    }
+
+    def configNames = configFiles.collect { it.name.take(it.name.lastIndexOf('.')) }
+    def splitReportsDir = new File(reportDirectoryPath, "split_reports")
+    ["master", patchBranch].each { branch ->
+        new File("reports/${branch}").eachDir { projectDir ->
+            def splitReportFiles = configNames.collectEntries { configName ->
+                [(configName): new File(splitReportsDir,
+                    "${configName}/${branch}/${projectDir.name}/checkstyle-result.xml")]
+            }
+            splitReport(new File(projectDir, "checkstyle-result.xml"), splitReportFiles, mergedConfig)
+        }
+    }
+
+    def diffToolJar = getPathToDiffToolJar()
+    configFiles.eachWithIndex { file, index ->
+        def configName = configNames[index]
+        def reportDir = new File(reportDirectoryPath, "diff_report_" + configName)
+        println "Generating report for config file ${file} in ${reportDir}/..."
+        def projectNames = []
+        new File(splitReportsDir, "${configName}/${patchBranch}").eachDir { patchProjectDir ->
+            def projectName = patchProjectDir.name
+            def baseReport = new File(splitReportsDir,
+                "${configName}/master/${projectName}/checkstyle-result.xml")
+            def diffCommand = ["java", "-jar", diffToolJar,
+                "--baseReport", baseReport.path,
+                "--patchReport", new File(patchProjectDir, "checkstyle-result.xml").path,
+                "--baseConfig", file.path, "--patchConfig", file.path,
+                "--output", new File(reportDir, projectName).path]
+            def diffProcess = diffCommand.execute()
+            diffProcess.consumeProcessOutput(System.out, System.err)
+            if (diffProcess.waitFor() != 0) {
+                throw new IllegalStateException("Error: diff report for ${projectName} failed")
+            }
+            projectNames.add(projectName)
+        }
+        generateIndexHtml(reportDir, configName, projectNames.sort())
+    }
+    splitReportsDir.deleteDir()
+
+    String target = reportDirectoryPath.toString() + "/diff_report_all_configs"
+    println "Moving report of merged config to ${target}/..."
+    moveDir(new File("reports/diff"), new File(target))
+}
+
+def mergeConfigs(configFiles, reportDirectoryPath, checkstyleRepoDir) {
+    def parser = new XmlParser(false, false, true)
+    parser.setFeature('http://apache.org/xml/features/nonvalidating/load-external-dtd', false)
+    def mergedRootModule = null
+    def mergedSkeleton = null
+    def configChecks = [:]
+    for (file in configFiles) {
+        def rootModule = parser.parse(file)
+        def checks = []
+        removeChecks(rootModule, [], checks)
+        def skeleton = getXmlText(rootModule)
+        if (mergedRootModule == null) {
+            mergedRootModule = rootModule
+            mergedSkeleton = skeleton
+        }
+        else if (skeleton != mergedSkeleton) {
+            println "Config file ${file} differs from ${configFiles[0]} not only in checks," +
+                " falling back to one run per config file"
+            return null
+        }
+        configChecks[file.name.take(file.name.lastIndexOf('.'))] = checks
+    }
+
+    // violations are attributed to configs by ids of checks, or by classes of checks without id
+    def ids = [:]
+    def checkNames = [:].withDefault { [] as Set }
+    for (configName in configChecks.keySet()) {
+        for (check in configChecks[configName]) {
+            def id = check.module.property.find { it.@name == 'id' }?.@value
+            if (id == null) {
+                checkNames[getCheckName(check.module.@name)].add(configName)
+            }
+            else if (ids.containsKey(id) && ids[id].config != configName) {
+                // renamed ids would not match suppressions by id, which separate runs apply
+                println "Check id ${id} is used in more than one config file," +
+                    " falling back to one run per config file"
+                return null
+            }
+            else {
+                ids[id] = [config: configName, source: id]
+            }
+        }
+    }
+    def classChecks = [:]
+    checkNames.each { checkName, configNames ->
+        if (configNames.size() == 1) {
+            classChecks[checkName] = configNames.first()
+        }
+    }
+
+    for (configName in configChecks.keySet()) {
+        for (check in configChecks[configName]) {
+            def moduleName = check.module.@name
+            def hasId = check.module.property.any { it.@name == 'id' }
+            if (!hasId && !classChecks.containsKey(getCheckName(moduleName))) {
+                // separate runs report the class name of a check without id
+                def className = getCheckClassName(checkstyleRepoDir, moduleName)
+                if (className == null) {
+                    println "Class of check ${moduleName} is not found in ${checkstyleRepoDir}," +
+                        " falling back to one run per config file"
+                    return null
                 }
+                def id = "${configName}#${moduleName}".toString()
+                check.module.appendNode('property', [name: 'id', value: id])
+                ids[id] = [config: configName, source: className]
+            }
+            def parentModule = check.parentPath.inject(mergedRootModule) { module, name ->
+                module.module.find { it.@name == name }
+            }
+            parentModule.append(check.module)
+        }
+    }
 
-                String fileWithoutExt = file.name.take(file.name.lastIndexOf('.'))
-                String reportName = "diff_report_" + fileWithoutExt
-                println "Moving report to ${reportDirectoryPath}/${reportName}/..."
-                String source = "reports/diff"
-                String target = reportDirectoryPath.toString() + "/" + reportName
+    def mergedConfig = new File(reportDirectoryPath, "merged_config.xml")
+    mergedConfig.withWriter { writer ->
+        writer.writeLine('<?xml version="1.0"?>')
+        writer.writeLine('<!DOCTYPE module PUBLIC')
+        writer.writeLine('          "-//Checkstyle//DTD Checkstyle Configuration 1.3//EN"')
+        writer.writeLine('          "https://checkstyle.org/dtds/configuration_1_3.dtd">')
+        writer.write(getXmlText(mergedRootModule))
+    }
+    println "Merged config is saved to ${mergedConfig}"
+    return [path: mergedConfig.absolutePath, ids: ids, classChecks: classChecks]
+}
 
-                try {
-                    "cp -r ${source} ${target}".execute()
-                } catch (IOException e) {
-                    e.printStackTrace();
+def getCheckName(moduleName) {
+    // module can be named by simple or full class name, with or without "Check" suffix
+    def simpleName = moduleName.substring(moduleName.lastIndexOf('.') + 1)
+    return simpleName - ~/Check$/
+}
+
+def getCheckClassName(checkstyleRepoDir, moduleName) {
+    def className = null
+    if (moduleName.contains('.')) {
+        className = moduleName
+    }
+    else {
+        def sourcesDir = new File(checkstyleRepoDir, "src/main/java")
+        for (sourceName in [moduleName + '.java', moduleName + 'Check.java']) {
+            sourcesDir.eachFileRecurse(FileType.FILES) { file ->
+                if (className == null && file.name == sourceName) {
+                    className = sourcesDir.toPath().relativize(file.toPath()).toString()
+                        .replace(File.separator, '.') - ~/\.java$/
                 }
             }
-        };
+        }
+    }
+    return className
+}
+
+def removeChecks(parentModule, parentPath, checks) {
+    def modulePath = parentPath + [parentModule.@name]
+    def moduleChecks = parentModule.module.findAll { isCheck(it.@name) }
+    moduleChecks.each {
+        parentModule.remove(it)
+        checks.add([parentPath: modulePath.drop(1), module: it])
+    }
+    parentModule.module.each { removeChecks(it, modulePath, checks) }
+}
+
+def isCheck(moduleName) {
+    def simpleName = moduleName.substring(moduleName.lastIndexOf('.') + 1)
+    return !'TreeWalker'.equals(simpleName) && !simpleName.endsWith('Filter') \
+        && !simpleName.endsWith('Holder')
+}
+
+def getXmlText(module) {
+    def writer = new StringWriter()
+    new XmlNodePrinter(new PrintWriter(writer)).print(module)
+    return writer.toString()
+}
+
+def splitReport(reportFile, splitReportFiles, mergedConfig) {
+    def writers = splitReportFiles.collectEntries { configName, splitReportFile ->
+        splitReportFile.parentFile.mkdirs()
+        [(configName): splitReportFile.newWriter("UTF-8")]
+    }
+    try {
+        reportFile.eachLine("UTF-8") { line ->
+            def matcher = line =~ /source="([^"]*)"/
+            def source = matcher.find() ? matcher.group(1) : null
+            def checkId = mergedConfig.ids[source]
+            def checkConfig = source == null ? null : mergedConfig.classChecks[getCheckName(source)]
+            if (checkId != null) {
+                writers[checkId.config]?.writeLine(line.substring(0, matcher.start())
+                    + "source=\"${checkId.source}\"" + line.substring(matcher.end()))
+            }
+            else if (checkConfig != null) {
+                writers[checkConfig]?.writeLine(line)
+            }
+            else {
+                // lines of files and errors of Checkstyle itself are kept in all reports
+                writers.values().each { it.writeLine(line) }
+            }
+        }
+    }
+    finally {
+        writers.values().each { it.close() }
+    }
+}
+
+def getPathToDiffToolJar() {
+    def diffToolTargetDir = new File("../patch-diff-report-tool/target")
+    def diffToolJar = diffToolTargetDir.listFiles().find {
+        it.name.matches("patch-diff-report-tool-.*.jar-with-dependencies.jar")
+    }
+    if (diffToolJar == null) {
+        throw new FileNotFoundException("Error: diff tool jar file is not found!")
+    }
+    return diffToolJar.absolutePath
+}
+
+def generateIndexHtml(reportDir, configName, projectNames) {
+    reportDir.mkdirs()
+    new File(reportDir, "index.html").withWriter { writer ->
+        writer.writeLine("<html><head><title>${configName}</title></head><body>")
+        writer.writeLine("<h3>Diff reports of ${configName}</h3>")
+        projectNames.each { projectName ->
+            writer.writeLine("<a href=\"${projectName}/index.html\">${projectName}</a><br/>")
+        }
+        writer.writeLine("</body></html>")
+    }
 }
 
 def getCliOptions(args) {
@@ -93,6 +523,10 @@ def getCliOptions(args) {
             'Location where configurations reside (required).')
         p(longOpt: 'patchBranch', args: 1, required: true, argName: 'branch_name', 'Name of ' +
             'the branch run check regression reports for (required).')
+        j(longOpt: 'jobs', args: 1, required: false, argName: 'count', 'Number of ' +
+            'configurations to run concurrently (optional, default is 1).')
+        s(longOpt: 'singleSweep', required: false, 'Run all configurations in one Checkstyle ' +
+            'pass per project (optional, default is one diff.groovy run per configuration).')
     }
     return cli.parse(args)
 }
@@ -0,0 +1,329 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// How to use this script:
+//
+// options:
+//  -c , --config<path> Checkstyle configuration to profile (required).
+//  -s , --sourceDir<path> Directory with sources of the project (required).
+//  -o , --output<path> Path of the profile to write (required).
+//  -e , --excludes<patterns> Comma separated Ant patterns of files to skip (optional).
+//
+// Checkstyle and its dependencies must be on the classpath, for example:
+//
+//    groovy -cp <checkstyle classpath> profile_checks.groovy -c my_check.xml \
+//    -s src/main/java/guava -o target/checkstyle-profile.xml
+//
+// This script is used by diff.groovy with -profileChecks option to measure how much time
+// every check of the configuration takes. The same files as in maven-checkstyle-plugin run are
+// checked: Java files of the source directory, except the excludes, which are relative to it.
+// Every file is parsed once, then the AST is walked once, and once more with comments, in the way
+// TreeWalker does, and every call of a check is timed, so the walk itself is not charged to checks.
+// Checker level checks get every file one by one. Violations are not collected.
+//
+// The profile is an XML file with cumulative time in nanoseconds of every module (parsing of
+// files is reported as JavaParser module, the walk of AST as TreeWalker module) and of every file
+// with non zero time (relative to the source directory):
+//
+//    <checkstyle-profile>
+//    <module name="WhitespaceAround" time="123456"/>
+//    <file name="com/google/common/base/Strings.java" time="4567"/>
+//    </checkstyle-profile>
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+import java.nio.charset.Charset
+import java.util.regex.Pattern
+import com.puppycrawl.tools.checkstyle.Checker
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader
+import com.puppycrawl.tools.checkstyle.DefaultContext
+import com.puppycrawl.tools.checkstyle.JavaParser
+import com.puppycrawl.tools.checkstyle.PackageNamesLoader
+import com.puppycrawl.tools.checkstyle.PackageObjectFactory
+import com.puppycrawl.tools.checkstyle.PropertiesExpander
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck
+import com.puppycrawl.tools.checkstyle.api.DetailAST
+import com.puppycrawl.tools.checkstyle.api.FileContents
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck
+import com.puppycrawl.tools.checkstyle.api.FileText
+import com.puppycrawl.tools.checkstyle.api.MessageDispatcher
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil
+import groovy.cli.picocli.CliBuilder
+import groovy.transform.CompileStatic
+
+static void main(String[] args) {
+    def cliOptions = getCliOptions(args)
+    if (cliOptions) {
+        def profile = profileChecks(new File(cliOptions.config), new File(cliOptions.sourceDir),
+            cliOptions.excludes ?: '')
+        writeProfile(profile, new File(cliOptions.output))
+    }
+}
+
+def getCliOptions(args) {
+    def cliOptionsDescLineLength = 120
+    def cli = new CliBuilder(usage: 'groovy profile_checks.groovy [options]',
+        header: 'options:', width: cliOptionsDescLineLength)
+    cli.with {
+        c(longOpt: 'config', args: 1, required: true, argName: 'path',
+            'Checkstyle configuration to profile (required).')
+        s(longOpt: 'sourceDir', args: 1, required: true, argName: 'path',
+            'Directory with sources of the project (required).')
+        o(longOpt: 'output', args: 1, required: true, argName: 'path',
+            'Path of the profile to write (required).')
+        e(longOpt: 'excludes', args: 1, required: false, argName: 'patterns',
+            'Comma separated Ant patterns of files to skip (optional).')
+    }
+    return cli.parse(args)
+}
+
+def profileChecks(configFile, sourceDir, excludes) {
+    def configuration = ConfigurationLoader.loadConfiguration(configFile.absolutePath,
+        new PropertiesExpander(System.properties), ConfigurationLoader.IgnoredModulesOptions.OMIT)
+    def classLoader = Checker.classLoader
+    def moduleFactory = new PackageObjectFactory(PackageNamesLoader.getPackageNames(classLoader),
+        classLoader)
+    def charset = Charset.forName(getProperty(configuration, 'charset', 'UTF-8'))
+    def context = new DefaultContext()
+    context.add('charset', charset.name())
+    context.add('moduleFactory', moduleFactory)
+    context.add('severity', getProperty(configuration, 'severity', 'error'))
+    context.add('basedir', sourceDir.absolutePath)
+    context.add('tabWidth', getProperty(configuration, 'tabWidth', '8'))
+
+    def treeWalkerChecks = []
+    def fileSetChecks = []
+    configuration.children.each { moduleConfig ->
+        if (moduleConfig.name == 'TreeWalker') {
+            moduleConfig.children.each { checkConfig ->
+                def check = createModule(moduleFactory, checkConfig, context)
+                if (check instanceof AbstractCheck) {
+                    treeWalkerChecks.add([name: getModuleName(checkConfig), check: check,
+                        tokens: getTokens(check)])
+                }
+            }
+        }
+        else {
+            def module = createModule(moduleFactory, moduleConfig, context)
+            if (module instanceof FileSetCheck) {
+                module.init()
+                module.messageDispatcher = [
+                    fireFileStarted: { fileName -> },
+                    fireErrors: { fileName, violations -> },
+                    fireFileFinished: { fileName -> },
+                ] as MessageDispatcher
+                module.beginProcessing(charset.name())
+                fileSetChecks.add([name: getModuleName(moduleConfig), check: module])
+            }
+        }
+    }
+
+    def excludePatterns = excludes.split(',').findAll { it.trim() }.collect { toRegex(it.trim()) }
+    def moduleTimes = [:].withDefault { 0L }
+    def fileTimes = [:]
+    sourceDir.eachFileRecurse(groovy.io.FileType.FILES) { file ->
+        def path = sourceDir.toPath().relativize(file.toPath()).toString().replace('\\', '/')
+        if (!file.name.endsWith('.java') || excludePatterns.any { it.matcher(path).matches() }) {
+            return
+        }
+        def fileText = new FileText(file, charset.name())
+        long fileTime = 0
+        fileSetChecks.each {
+            def time = measureFileSetCheck(it.check, file, fileText)
+            moduleTimes[it.name] += time
+            fileTime += time
+        }
+        if (!treeWalkerChecks.isEmpty()) {
+            fileTime += profileTreeWalkerChecks(file, fileText, treeWalkerChecks, moduleTimes)
+        }
+        if (fileTime > 0) {
+            fileTimes[path] = fileTime
+        }
+    }
+    fileSetChecks.each { it.check.finishProcessing() }
+    return [modules: moduleTimes, files: fileTimes]
+}
+
+def profileTreeWalkerChecks(file, fileText, treeWalkerChecks, moduleTimes) {
+    def contents = new FileContents(fileText)
+    long start = System.nanoTime()
+    DetailAST rootAst
+    try {
+        rootAst = JavaParser.parse(contents)
+    }
+    catch (Exception ex) {
+        System.err.println "Skipping $file: ${ex.message}"
+        return 0
+    }
+    long fileTime = System.nanoTime() - start
+    moduleTimes['JavaParser'] += fileTime
+
+    // TreeWalker walks the AST for checks of code, then the AST with comments for checks of comments
+    [false, true].each { commentNodesRequired ->
+        def checks = treeWalkerChecks.findAll { it.check.commentNodesRequired == commentNodesRequired }
+        if (checks) {
+            def ast = rootAst
+            if (commentNodesRequired) {
+                start = System.nanoTime()
+                ast = JavaParser.appendHiddenCommentNodes(rootAst)
+                def appendTime = System.nanoTime() - start
+                moduleTimes['JavaParser'] += appendTime
+                fileTime += appendTime
+            }
+            def checkTimes = new long[checks.size()]
+            try {
+                def walkTime = walkChecks(checks.collect { it.check }, checks.collect { it.tokens },
+                    ast, contents, checkTimes)
+                checks.eachWithIndex { check, index -> moduleTimes[check.name] += checkTimes[index] }
+                moduleTimes['TreeWalker'] += walkTime - checkTimes.sum()
+                fileTime += walkTime
+            }
+            catch (Exception ex) {
+                System.err.println "Checks failed on $file: ${ex.message}"
+            }
+        }
+    }
+    return fileTime
+}
+
+/**
+ * Walks the AST once, notifying every check of the tokens it is subscribed to, and adds time
+ * of every call of a check to its time. Returns the time of the whole walk.
+ */
+@CompileStatic
+static long walkChecks(List<AbstractCheck> checks, List<BitSet> tokens, DetailAST root,
+        FileContents contents, long[] checkTimes) {
+    long walkStart = System.nanoTime()
+    for (int index = 0; index < checks.size(); index++) {
+        long start = System.nanoTime()
+        AbstractCheck check = checks.get(index)
+        check.clearViolations()
+        check.setFileContents(contents)
+        check.beginTree(root)
+        checkTimes[index] += System.nanoTime() - start
+    }
+    DetailAST node = root
+    while (node != null) {
+        notifyChecks(checks, tokens, node, true, checkTimes)
+        DetailAST toVisit = node.firstChild
+        while (node != null && toVisit == null) {
+            notifyChecks(checks, tokens, node, false, checkTimes)
+            toVisit = node.nextSibling
+            node = node.parent
+        }
+        node = toVisit
+    }
+    for (int index = 0; index < checks.size(); index++) {
+        long start = System.nanoTime()
+        checks.get(index).finishTree(root)
+        checkTimes[index] += System.nanoTime() - start
+    }
+    return System.nanoTime() - walkStart
+}
+
+@CompileStatic
+static void notifyChecks(List<AbstractCheck> checks, List<BitSet> tokens, DetailAST node,
+        boolean visit, long[] checkTimes) {
+    int type = node.type
+    for (int index = 0; index < checks.size(); index++) {
+        if (tokens.get(index).get(type)) {
+            long start = System.nanoTime()
+            if (visit) {
+                checks.get(index).visitToken(node)
+            }
+            else {
+                checks.get(index).leaveToken(node)
+            }
+            checkTimes[index] += System.nanoTime() - start
+        }
+    }
+}
+
+@CompileStatic
+static long measureFileSetCheck(FileSetCheck check, File file, FileText fileText) {
+    long start = System.nanoTime()
+    check.process(file, fileText)
+    return System.nanoTime() - start
+}
+
+def createModule(moduleFactory, moduleConfig, context) {
+    def module = moduleFactory.createModule(moduleConfig.name)
+    module.contextualize(context)
+    module.configure(moduleConfig)
+    if (module instanceof AbstractCheck) {
+        module.init()
+    }
+    return module
+}
+
+def getTokens(check) {
+    // same tokens as TreeWalker subscribes the check to
+    def tokenIds = check.defaultTokens as List
+    if (!check.tokenNames.isEmpty()) {
+        tokenIds = (check.requiredTokens as List) + check.tokenNames.collect { TokenUtil.getTokenId(it) }
+    }
+    def tokens = new BitSet()
+    tokenIds.each { tokens.set(it) }
+    return tokens
+}
+
+def getModuleName(moduleConfig) {
+    def id = moduleConfig.propertyNames.contains('id') ? moduleConfig.getProperty('id') : null
+    return id ?: moduleConfig.name
+}
+
+def getProperty(configuration, name, defaultValue) {
+    return configuration.propertyNames.contains(name) ? configuration.getProperty(name) : defaultValue
+}
+
+def toRegex(antPattern) {
+    // patterns are relative to the source directory, as in maven-checkstyle-plugin
+    def regex = new StringBuilder()
+    def pattern = antPattern.replace('\\', '/')
+    if (pattern.endsWith('/')) {
+        pattern += '**'
+    }
+    def index = 0
+    while (index < pattern.length()) {
+        if (pattern.startsWith('**/', index)) {
+            regex.append('(.*/)?')
+            index += 3
+        }
+        else if (pattern.startsWith('**', index)) {
+            regex.append('.*')
+            index += 2
+        }
+        else {
+            def character = pattern.charAt(index)
+            if (character == '*' as char) {
+                regex.append('[^/]*')
+            }
+            else if (character == '?' as char) {
+                regex.append('[^/]')
+            }
+            else {
+                regex.append(Pattern.quote(character as String))
+            }
+            index++
+        }
+    }
+    return Pattern.compile(regex.toString())
+}
+
+def writeProfile(profile, outputFile) {
+    outputFile.parentFile?.mkdirs()
+    outputFile.withWriter('UTF-8') { writer ->
+        writer.writeLine('<?xml version="1.0" encoding="UTF-8"?>')
+        writer.writeLine('<checkstyle-profile>')
+        profile.modules.sort { -it.value }.each { name, time ->
+            writer.writeLine("<module name=\"${escapeXml(name)}\" time=\"$time\"/>")
+        }
+        profile.files.sort { -it.value }.each { name, time ->
+            writer.writeLine("<file name=\"${escapeXml(name)}\" time=\"$time\"/>")
+        }
+        writer.writeLine('</checkstyle-profile>')
+    }
+    println "Profile of ${profile.modules.size()} modules on ${profile.files.size()} files is saved " +
+        "to $outputFile"
+}
+
+def escapeXml(text) {
+    return text.replace('&', '&amp;').replace('<', '&lt;').replace('>', '&gt;').replace('"', '&quot;')
+}
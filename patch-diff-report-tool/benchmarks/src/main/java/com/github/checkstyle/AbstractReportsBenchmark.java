@@ -0,0 +1,127 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base of benchmarks on synthetic reports, generated by {@link ReportGenerator} to a
+ * temporary folder before the benchmark and deleted after it. Size of reports is set by
+ * parameters, e.g. {@code -p files=30000 -p violations=20} for a run of openjdk size.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractReportsBenchmark {
+
+    /**
+     * Seed of the generated reports, the same for every run.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Number of files.
+     */
+    @Param("2000")
+    private int files;
+
+    /**
+     * Number of violations of every file in base report.
+     */
+    @Param("10")
+    private int violations;
+
+    /**
+     * Number of distinct sources of violations.
+     */
+    @Param("50")
+    private int sources;
+
+    /**
+     * Folder with the generated reports.
+     */
+    private Path directory;
+
+    /**
+     * Generates the reports.
+     *
+     * @throws IOException
+     *         on failure to write reports.
+     */
+    @Setup
+    public void generateReports() throws IOException {
+        directory = Files.createTempDirectory("patch-diff-benchmark");
+        ReportGenerator.generate(directory, files, violations, sources, SEED);
+    }
+
+    /**
+     * Deletes the reports.
+     *
+     * @throws IOException
+     *         on failure to delete reports.
+     */
+    @TearDown
+    public void deleteReports() throws IOException {
+        FilesystemUtils.delete(directory);
+    }
+
+    /**
+     * Returns folder with the generated reports, which can be used for output.
+     *
+     * @return the folder.
+     */
+    protected Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns path to the base report.
+     *
+     * @return path to the base report.
+     */
+    protected Path getBaseReport() {
+        return directory.resolve(ReportGenerator.BASE_REPORT);
+    }
+
+    /**
+     * Returns path to the patch report.
+     *
+     * @return path to the patch report.
+     */
+    protected Path getPatchReport() {
+        return directory.resolve(ReportGenerator.PATCH_REPORT);
+    }
+
+    /**
+     * Returns path to the sources, to which reports refer.
+     *
+     * @return path to the sources.
+     */
+    protected Path getSourcesPath() {
+        return directory.resolve(ReportGenerator.SOURCES).toAbsolutePath();
+    }
+
+}
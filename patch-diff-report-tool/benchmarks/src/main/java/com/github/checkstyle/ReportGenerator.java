@@ -0,0 +1,359 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic base and patch checkstyle reports and java sources, to which they
+ * refer, for benchmarks. Size is given by number of files, number of violations in every
+ * file and number of distinct sources (checks) of violations. The same arguments and seed
+ * always generate the same reports.
+ *
+ * <p>Patch report is the same as base report, except {@link #CHANGED_FILES_PERCENT} percent
+ * of files, where some violations are removed, some have changed message and some are
+ * added, as it is for diff of a change in checkstyle. Files are named by absolute paths of
+ * sources in the "src" folder, so xref can be generated for them.</p>
+ */
+public final class ReportGenerator {
+
+    /**
+     * Name of the base report.
+     */
+    public static final String BASE_REPORT = "base.xml";
+
+    /**
+     * Name of the patch report.
+     */
+    public static final String PATCH_REPORT = "patch.xml";
+
+    /**
+     * Name of the folder with sources.
+     */
+    public static final String SOURCES = "src";
+
+    /**
+     * Percent of files with violations changed in patch report.
+     */
+    public static final int CHANGED_FILES_PERCENT = 10;
+
+    /**
+     * Percent of violations of changed file removed in patch report.
+     */
+    private static final int REMOVED_PERCENT = 30;
+
+    /**
+     * Percent of violations of changed file, which message is changed in patch report.
+     */
+    private static final int CHANGED_MESSAGE_PERCENT = 20;
+
+    /**
+     * Number of files in a package.
+     */
+    private static final int FILES_PER_PACKAGE = 100;
+
+    /**
+     * Minimal number of lines of a source.
+     */
+    private static final int MIN_LINES = 20;
+
+    /**
+     * Maximal column of a violation.
+     */
+    private static final int MAX_COLUMN = 80;
+
+    /**
+     * Severities of violations, warnings are the most frequent.
+     */
+    private static final String[] SEVERITIES = {"warning", "warning", "error", "info"};
+
+    /**
+     * Number of command line arguments.
+     */
+    private static final int ARGUMENTS_NUMBER = 5;
+
+    /**
+     * Order of violations in a report: by line, then by column.
+     */
+    private static final Comparator<String[]> ERROR_ORDER =
+            Comparator.comparingInt((String[] error) -> toInt(error[0]))
+                    .thenComparingInt(error -> toInt(error[1]));
+
+    /**
+     * Private ctor, see generate method.
+     */
+    private ReportGenerator() {
+    }
+
+    /**
+     * Generates reports and sources by command line arguments: folder, number of files,
+     * number of violations in a file, number of distinct sources and seed.
+     *
+     * @param args
+     *        cli arguments.
+     * @throws IOException
+     *         on failure to write files.
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length == ARGUMENTS_NUMBER) {
+            int argument = 0;
+            final Path directory = Paths.get(args[argument++]);
+            final int files = Integer.parseInt(args[argument++]);
+            final int violations = Integer.parseInt(args[argument++]);
+            final int sources = Integer.parseInt(args[argument++]);
+            final long seed = Long.parseLong(args[argument]);
+            generate(directory, files, violations, sources, seed);
+            System.out.println("Reports are generated in " + directory.toAbsolutePath());
+        }
+        else {
+            System.out.println("Arguments: <folder> <files> <violations per file> "
+                    + "<distinct sources> <seed>");
+        }
+    }
+
+    /**
+     * Generates base and patch reports and sources in the folder.
+     *
+     * @param directory
+     *        the folder.
+     * @param files
+     *        number of files.
+     * @param violations
+     *        number of violations of every file in base report.
+     * @param sources
+     *        number of distinct sources of violations.
+     * @param seed
+     *        seed of random generator.
+     * @throws IOException
+     *         on failure to write files.
+     */
+    public static void generate(Path directory, int files, int violations, int sources,
+            long seed) throws IOException {
+        final Path sourcesPath = directory.resolve(SOURCES).toAbsolutePath();
+        final Random random = new Random(seed);
+        final int lines = Math.max(MIN_LINES, violations * 2);
+        Files.createDirectories(directory);
+        try (Writer base = Files.newBufferedWriter(directory.resolve(BASE_REPORT),
+                StandardCharsets.UTF_8);
+             Writer patch = Files.newBufferedWriter(directory.resolve(PATCH_REPORT),
+                     StandardCharsets.UTF_8)) {
+            writeReportStart(base);
+            writeReportStart(patch);
+            for (int file = 0; file < files; file++) {
+                final String packageName = "p" + file / FILES_PER_PACKAGE;
+                final Path source = sourcesPath.resolve(packageName)
+                        .resolve("File" + file + ".java");
+                writeSource(source, packageName, file, lines);
+                final List<String[]> baseErrors = new ArrayList<>();
+                for (int error = 0; error < violations; error++) {
+                    baseErrors.add(createError(random, lines, sources));
+                }
+                baseErrors.sort(ERROR_ORDER);
+                List<String[]> patchErrors = baseErrors;
+                if (random.nextInt(100) < CHANGED_FILES_PERCENT) {
+                    patchErrors = changeErrors(random, baseErrors, lines, sources);
+                }
+                writeFile(base, source.toString(), baseErrors);
+                writeFile(patch, source.toString(), patchErrors);
+            }
+            writeReportEnd(base);
+            writeReportEnd(patch);
+        }
+    }
+
+    /**
+     * Creates attributes of a violation: line, column, severity, message and source.
+     *
+     * @param random
+     *        random generator.
+     * @param lines
+     *        number of lines of the file.
+     * @param sources
+     *        number of distinct sources of violations.
+     * @return the attributes.
+     */
+    private static String[] createError(Random random, int lines, int sources) {
+        final int line = 1 + random.nextInt(lines);
+        final int check = random.nextInt(sources);
+        return new String[] {
+            String.valueOf(line),
+            String.valueOf(1 + random.nextInt(MAX_COLUMN)),
+            SEVERITIES[random.nextInt(SEVERITIES.length)],
+            "Violation " + check + " of 'line' " + line + '.',
+            "com.puppycrawl.tools.checkstyle.checks.Generated" + check + "Check",
+        };
+    }
+
+    /**
+     * Creates violations of changed file in patch report.
+     *
+     * @param random
+     *        random generator.
+     * @param baseErrors
+     *        violations in base report.
+     * @param lines
+     *        number of lines of the file.
+     * @param sources
+     *        number of distinct sources of violations.
+     * @return violations in patch report.
+     */
+    private static List<String[]> changeErrors(Random random, List<String[]> baseErrors,
+            int lines, int sources) {
+        final List<String[]> result = new ArrayList<>();
+        for (String[] error : baseErrors) {
+            final int change = random.nextInt(100);
+            if (change >= REMOVED_PERCENT + CHANGED_MESSAGE_PERCENT) {
+                result.add(error);
+            }
+            else if (change >= REMOVED_PERCENT) {
+                final String[] changed = error.clone();
+                changed[3] = "Changed " + error[3];
+                result.add(changed);
+            }
+        }
+        final int added = baseErrors.size() * REMOVED_PERCENT / 100 + 1;
+        for (int error = 0; error < added; error++) {
+            result.add(createError(random, lines, sources));
+        }
+        result.sort(ERROR_ORDER);
+        return result;
+    }
+
+    /**
+     * Writes java source with the given number of lines.
+     *
+     * @param source
+     *        path to the source.
+     * @param packageName
+     *        name of the package.
+     * @param file
+     *        number of the file.
+     * @param lines
+     *        number of lines.
+     * @throws IOException
+     *         on failure to write the source.
+     */
+    private static void writeSource(Path source, String packageName, int file, int lines)
+            throws IOException {
+        Files.createDirectories(source.getParent());
+        final StringBuilder text = new StringBuilder(lines * 40);
+        text.append("package ").append(packageName).append(";\n\n")
+            .append("/** Generated class ").append(file).append(". */\n")
+            .append("public class File").append(file).append(" {\n");
+        for (int line = 5; line < lines; line++) {
+            switch (line % 4) {
+                case 0 -> text.append("    private int field").append(line).append(" = ")
+                    .append(line).append(";\n");
+                case 1 -> text.append("    // comment of line ").append(line).append('\n');
+                case 2 -> text.append("    private String text").append(line)
+                    .append(" = \"text <").append(line).append(">\";\n");
+                default -> text.append("    /** Javadoc of line ").append(line)
+                    .append(". */\n");
+            }
+        }
+        text.append("}\n");
+        Files.writeString(source, text);
+    }
+
+    /**
+     * Writes beginning of a report.
+     *
+     * @param writer
+     *        writer of the report.
+     * @throws IOException
+     *         on failure to write the report.
+     */
+    private static void writeReportStart(Writer writer) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<checkstyle version=\"10.0\">\n");
+    }
+
+    /**
+     * Writes end of a report.
+     *
+     * @param writer
+     *        writer of the report.
+     * @throws IOException
+     *         on failure to write the report.
+     */
+    private static void writeReportEnd(Writer writer) throws IOException {
+        writer.write("</checkstyle>\n");
+    }
+
+    /**
+     * Writes file tag with violations to a report.
+     *
+     * @param writer
+     *        writer of the report.
+     * @param filename
+     *        name of the file.
+     * @param errors
+     *        attributes of violations.
+     * @throws IOException
+     *         on failure to write the report.
+     */
+    private static void writeFile(Writer writer, String filename, List<String[]> errors)
+            throws IOException {
+        final StringBuilder xml = new StringBuilder(128 + errors.size() * 160);
+        xml.append("<file name=\"").append(escape(filename)).append("\">\n");
+        for (String[] error : errors) {
+            xml.append("<error line=\"").append(error[0])
+                .append("\" column=\"").append(error[1])
+                .append("\" severity=\"").append(error[2])
+                .append("\" message=\"").append(escape(error[3]))
+                .append("\" source=\"").append(error[4]).append("\"/>\n");
+        }
+        xml.append("</file>\n");
+        writer.append(xml);
+    }
+
+    /**
+     * Escapes text of XML attribute.
+     *
+     * @param text
+     *        the text.
+     * @return escaped text.
+     */
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+
+    /**
+     * Parses number attribute.
+     *
+     * @param value
+     *        the attribute.
+     * @return the number.
+     */
+    private static int toInt(String value) {
+        return Integer.parseInt(value);
+    }
+
+}
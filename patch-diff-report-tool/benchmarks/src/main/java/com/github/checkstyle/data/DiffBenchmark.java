@@ -0,0 +1,133 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares difference of records of a single file by sorting and merge with difference by
+ * hash counting, to find the number of records from which hash counting is faster.
+ * Base and patch records are equal, as it is for most files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiffBenchmark {
+
+    /**
+     * Number of records in each report, small numbers are dense around the threshold of
+     * {@link DiffReport}, which compares their sum.
+     */
+    @Param({"4", "8", "16", "24", "32", "48", "64", "128", "256", "1024", "8192"})
+    private int records;
+
+    /**
+     * {@code true} if records are in random order, otherwise they are sorted.
+     */
+    @Param({"false", "true"})
+    private boolean shuffled;
+
+    /**
+     * Base records.
+     */
+    private List<CheckstyleRecord> baseRecords;
+
+    /**
+     * Patch records.
+     */
+    private List<CheckstyleRecord> patchRecords;
+
+    /**
+     * Creates the records.
+     */
+    @Setup
+    public void setUp() {
+        baseRecords = createRecords(1, new Random(1));
+        patchRecords = createRecords(2, new Random(2));
+    }
+
+    /**
+     * Finds the difference by sorting and merge.
+     *
+     * @return the difference.
+     */
+    @Benchmark
+    public List<CheckstyleRecord> sortAndMerge() {
+        final List<CheckstyleRecord> base = new ArrayList<>(baseRecords);
+        final List<CheckstyleRecord> patch = new ArrayList<>(patchRecords);
+        Collections.sort(base);
+        Collections.sort(patch);
+        return DiffUtils.produceDiff(base, patch);
+    }
+
+    /**
+     * Finds the difference by hash counting.
+     *
+     * @return the difference.
+     */
+    @Benchmark
+    public List<CheckstyleRecord> hash() {
+        final List<CheckstyleRecord> base = new ArrayList<>(baseRecords);
+        final List<CheckstyleRecord> patch = new ArrayList<>(patchRecords);
+        return DiffUtils.produceHashDiff(base, patch, CheckstyleRecord::getFingerprint);
+    }
+
+    /**
+     * Creates records of a report.
+     *
+     * @param index
+     *        index of the report.
+     * @param random
+     *        source of order of records.
+     * @return the records.
+     */
+    private List<CheckstyleRecord> createRecords(int index, Random random) {
+        final List<CheckstyleRecord> result = new ArrayList<>();
+        for (int record = 0; record < records; record++) {
+            result.add(new CheckstyleRecord(index, record / 3 + 1, record % 3, "warning",
+                    "com.puppycrawl.tools.checkstyle.checks.Check" + record % 7,
+                    "Message " + record % 11, null));
+        }
+        if (shuffled) {
+            Collections.shuffle(result, random);
+        }
+        return result;
+    }
+
+}
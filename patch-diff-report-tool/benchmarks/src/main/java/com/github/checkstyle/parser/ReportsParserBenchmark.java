@@ -0,0 +1,68 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.parser;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.checkstyle.AbstractReportsBenchmark;
+import com.github.checkstyle.Main;
+import com.github.checkstyle.data.DiffReport;
+
+/**
+ * Measures parsing of base and patch reports and finding of their difference, as it is done
+ * by the tool in XML mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportsParserBenchmark extends AbstractReportsBenchmark {
+
+    /**
+     * Parses the reports.
+     *
+     * @return difference of the reports.
+     * @throws FileNotFoundException
+     *         never, as reports are generated.
+     * @throws XMLStreamException
+     *         never, as reports are valid.
+     */
+    @Benchmark
+    public DiffReport parse() throws FileNotFoundException, XMLStreamException {
+        return CheckstyleReportsParser.parse(getBaseReport(), getPatchReport(),
+                Main.XML_PARSE_PORTION_SIZE);
+    }
+
+}
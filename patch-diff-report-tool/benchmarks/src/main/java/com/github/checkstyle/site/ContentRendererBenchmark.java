@@ -0,0 +1,139 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.github.checkstyle.data.CheckstyleRecord;
+
+/**
+ * Compares rendering of violations by thymeleaf "content" template and by
+ * {@link FastContentRenderer} on the same records, split into files of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContentRendererBenchmark {
+
+    /**
+     * Total number of records.
+     */
+    @Param("100000")
+    private int records;
+
+    /**
+     * Number of records in a single file.
+     */
+    @Param({"1", "10", "100"})
+    private int recordsPerFile;
+
+    /**
+     * Records of every file.
+     */
+    private List<List<CheckstyleRecord>> files;
+
+    /**
+     * Template engine, set up as in site generator.
+     */
+    private TemplateEngine tplEngine;
+
+    /**
+     * Creates the records and the template engine.
+     */
+    @Setup
+    public void setUp() {
+        files = new ArrayList<>();
+        for (int fileIndex = 0; fileIndex * recordsPerFile < records; fileIndex++) {
+            final List<CheckstyleRecord> fileRecords = new ArrayList<>();
+            for (int line = 1; line <= recordsPerFile; line++) {
+                String xref = null;
+                if (line % 2 == 0) {
+                    xref = "xref/File" + fileIndex + ".java.html";
+                }
+                fileRecords.add(new CheckstyleRecord(1 + line % 2, line, line % 3 - 1,
+                        "warning", "com.puppycrawl.tools.checkstyle.checks.Check" + line % 20,
+                        "Message <" + line + "> with 'text'.", xref));
+            }
+            files.add(fileRecords);
+        }
+        final ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setTemplateMode("HTML");
+        templateResolver.setPrefix("/");
+        templateResolver.setSuffix(".template");
+        tplEngine = new TemplateEngine();
+        tplEngine.setTemplateResolver(templateResolver);
+    }
+
+    /**
+     * Renders all files by thymeleaf template.
+     */
+    @Benchmark
+    public void thymeleaf() {
+        final Writer writer = Writer.nullWriter();
+        final AnchorCounter anchorCounter = new AnchorCounter();
+        for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+            final Context context = new Context();
+            context.setVariable("filename", "src/File" + fileIndex + ".java");
+            context.setVariable("records", files.get(fileIndex));
+            context.setVariable("anchor", anchorCounter);
+            tplEngine.process("content", context, writer);
+        }
+    }
+
+    /**
+     * Renders all files by the fast renderer.
+     *
+     * @throws IOException
+     *         never, as output is discarded.
+     */
+    @Benchmark
+    public void fast() throws IOException {
+        final Writer writer = Writer.nullWriter();
+        final AnchorCounter anchorCounter = new AnchorCounter();
+        final FastContentRenderer renderer = new FastContentRenderer();
+        for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+            renderer.render(writer, files.get(fileIndex), "src/File" + fileIndex + ".java",
+                    anchorCounter);
+        }
+    }
+
+}
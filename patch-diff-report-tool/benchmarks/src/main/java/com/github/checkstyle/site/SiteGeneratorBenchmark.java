@@ -0,0 +1,151 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.checkstyle.AbstractReportsBenchmark;
+import com.github.checkstyle.FilesystemUtils;
+import com.github.checkstyle.Main;
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.CliOptions;
+import com.github.checkstyle.data.CompareMode;
+import com.github.checkstyle.data.DiffReport;
+import com.github.checkstyle.data.OutputFormat;
+import com.github.checkstyle.data.Renderer;
+import com.github.checkstyle.parser.CheckstyleReportsParser;
+
+/**
+ * Measures generation of the site, with xref of sources, from the difference of generated
+ * reports by every renderer. Reports are parsed once, site generation replaces xrefs of
+ * records, so every invocation gets a copy of records and empty site folder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SiteGeneratorBenchmark extends AbstractReportsBenchmark {
+
+    /**
+     * Renderer of violations.
+     */
+    @Param({"THYMELEAF", "FAST", "JSON"})
+    private Renderer renderer;
+
+    /**
+     * Parsed difference of the reports.
+     */
+    private DiffReport parsedReport;
+
+    /**
+     * Difference of the reports for the invocation.
+     */
+    private DiffReport diffReport;
+
+    /**
+     * Options of site generation.
+     */
+    private CliOptions options;
+
+    /**
+     * Parses the reports.
+     *
+     * @throws FileNotFoundException
+     *         never, as reports are generated.
+     * @throws XMLStreamException
+     *         never, as reports are valid.
+     */
+    @Setup
+    public void parseReports() throws FileNotFoundException, XMLStreamException {
+        parsedReport = CheckstyleReportsParser.parse(getBaseReport(), getPatchReport(),
+                Main.XML_PARSE_PORTION_SIZE);
+        options = new CliOptions(CompareMode.XML, getBaseReport(), getPatchReport(),
+                getSourcesPath(), getDirectory().resolve("site"), null, null, false, null, null,
+                renderer, Integer.MAX_VALUE, Integer.MAX_VALUE, EnumSet.of(OutputFormat.SITE));
+    }
+
+    /**
+     * Copies records and clears the site folder.
+     *
+     * @throws IOException
+     *         on failure to clear the folder.
+     */
+    @Setup(Level.Invocation)
+    public void prepareSite() throws IOException {
+        diffReport = new DiffReport(parsedReport);
+        diffReport.getRecords().replaceAll((filename, records) -> copyRecords(records));
+        final Path outputPath = options.getOutputPath();
+        FilesystemUtils.createOverwriteDirectory(outputPath);
+        FilesystemUtils.createOverwriteDirectory(outputPath.resolve(Main.XREF_FILEPATH));
+    }
+
+    /**
+     * Generates the site.
+     *
+     * @throws IOException
+     *         on failure to write the site.
+     */
+    @Benchmark
+    public void generate() throws IOException {
+        SiteGenerator.generate(diffReport, null, null, options);
+    }
+
+    /**
+     * Copies records, as xrefs of them are replaced by site generation.
+     *
+     * @param records
+     *        the records.
+     * @return copy of the records.
+     */
+    private static List<CheckstyleRecord> copyRecords(List<CheckstyleRecord> records) {
+        final List<CheckstyleRecord> result = new ArrayList<>(records.size());
+        for (CheckstyleRecord checkstyleRecord : records) {
+            result.add(new CheckstyleRecord(checkstyleRecord.getIndex(),
+                    checkstyleRecord.getLine(), checkstyleRecord.getColumn(),
+                    checkstyleRecord.getSeverity(), checkstyleRecord.getSource(),
+                    checkstyleRecord.getMessage(), checkstyleRecord.getXref()));
+        }
+        return result;
+    }
+
+}
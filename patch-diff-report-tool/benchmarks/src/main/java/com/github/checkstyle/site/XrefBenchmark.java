@@ -0,0 +1,119 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.checkstyle.AbstractReportsBenchmark;
+import com.github.checkstyle.FilesystemUtils;
+
+/**
+ * Measures generation of xref of all generated sources. Xref folder is cleared before every
+ * invocation, as existing xref files are not generated again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XrefBenchmark extends AbstractReportsBenchmark {
+
+    /**
+     * Paths to the sources.
+     */
+    private List<String> filenames;
+
+    /**
+     * Path to the site.
+     */
+    private Path sitePath;
+
+    /**
+     * Path to the xref folder.
+     */
+    private Path xrefPath;
+
+    /**
+     * Finds the sources and creates the site folder.
+     *
+     * @throws IOException
+     *         on failure to list sources or to create the folder.
+     */
+    @Setup
+    public void findSources() throws IOException {
+        try (Stream<Path> paths = Files.walk(getSourcesPath())) {
+            filenames = paths.filter(Files::isRegularFile).map(Path::toString).sorted()
+                    .collect(Collectors.toList());
+        }
+        sitePath = getDirectory().resolve("site");
+        xrefPath = sitePath.resolve("xref");
+        Files.createDirectories(sitePath);
+    }
+
+    /**
+     * Clears the xref folder.
+     *
+     * @throws IOException
+     *         on failure to clear the folder.
+     */
+    @Setup(Level.Invocation)
+    public void clearXref() throws IOException {
+        FilesystemUtils.createOverwriteDirectory(xrefPath);
+    }
+
+    /**
+     * Generates xref of every source.
+     *
+     * @return number of generated files.
+     */
+    @Benchmark
+    public int generateXref() {
+        final XrefGenerator xrefGenerator = new XrefGenerator(getSourcesPath(), xrefPath,
+                sitePath);
+        int generated = 0;
+        for (String filename : filenames) {
+            xrefGenerator.reset();
+            if (xrefGenerator.generateXref(filename, false) != null) {
+                generated++;
+            }
+        }
+        return generated;
+    }
+
+}
@@ -20,6 +20,8 @@
 package com.github.checkstyle;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import com.github.checkstyle.data.CliOptions;
 import com.github.checkstyle.data.CompareMode;
@@ -37,6 +39,11 @@ public final class CliArgsValidator {
      */
     public static final String MSG_NOT_EXISTS = "XML file doesn't exist: ";
 
+    /**
+     * Maximal number of TCP port.
+     */
+    private static final int MAX_PORT = 65535;
+
     /**
      * Private ctor, use static methods.
      */
@@ -65,6 +72,9 @@ public final class CliArgsValidator {
             throw new IllegalArgumentException("Output path is not a directory: "
                     + options.getOutputPath());
         }
+        if (options.getOutputFormats().isEmpty()) {
+            throw new IllegalArgumentException("No output formats, -h for help");
+        }
 
         if (options.getCompareMode() == CompareMode.XML) {
             validateXmlMode(options);
@@ -72,6 +82,137 @@ public final class CliArgsValidator {
         else {
             validateTextMode(options);
         }
+        validateProfiles(options);
+        validateLimits(options);
+    }
+
+    /**
+     * Performs validation of the options of reports merge.
+     *
+     * @param reports
+     *            paths to the reports to merge.
+     * @param mergedReport
+     *            path to the merged report.
+     * @throws IllegalArgumentException
+     *             on failure of any check.
+     */
+    public static void validateMerge(List<Path> reports, Path mergedReport)
+            throws IllegalArgumentException {
+        if (reports.isEmpty()) {
+            throw new IllegalArgumentException("No reports to merge, -h for help");
+        }
+        if (mergedReport == null) {
+            throw new IllegalArgumentException("obligatory argument --output "
+                    + "not present for merge of reports, -h for help");
+        }
+        if (Files.isDirectory(mergedReport)) {
+            throw new IllegalArgumentException("Output path is a directory: " + mergedReport);
+        }
+        for (Path report : reports) {
+            if (!Files.isRegularFile(report)) {
+                throw new IllegalArgumentException("XML Report file doesn't exist: " + report);
+            }
+        }
+    }
+
+    /**
+     * Performs validation of the options of the diff service.
+     *
+     * @param options
+     *            POJO holding all options.
+     * @param port
+     *            port of the service.
+     * @param cacheSize
+     *            number of cached results.
+     * @throws IllegalArgumentException
+     *             on failure of any check.
+     */
+    public static void validateService(CliOptions options, int port, int cacheSize)
+            throws IllegalArgumentException {
+        if (options.getCompareMode() != CompareMode.XML) {
+            throw new IllegalArgumentException("Diff service supports only XML compare mode");
+        }
+        if (options.getBaseReportPath() == null) {
+            throw new IllegalArgumentException("obligatory argument --baseReport "
+                    + "not present for diff service, -h for help");
+        }
+        if (!Files.isRegularFile(options.getBaseReportPath())) {
+            throw new IllegalArgumentException("Base XML Report file doesn't exist: "
+                    + options.getBaseReportPath());
+        }
+        if (port < 0 || port > MAX_PORT) {
+            throw new IllegalArgumentException("Port is out of range: " + port);
+        }
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size should be positive: " + cacheSize);
+        }
+        validateLimits(options);
+        if (options.getRefFilesPath() != null && !Files.isDirectory(options.getRefFilesPath())) {
+            throw new IllegalArgumentException("Ref Files path is not a directory: "
+                    + options.getRefFilesPath());
+        }
+        if (Files.isRegularFile(options.getOutputPath())) {
+            throw new IllegalArgumentException("Output path is not a directory: "
+                    + options.getOutputPath());
+        }
+        if (options.getBaseConfigPath() == null != (options.getPatchConfigPath() == null)) {
+            throw new IllegalArgumentException("Both base and patch checkstyle configuration "
+                    + "xml paths should be present or absent");
+        }
+        if (options.configurationPresent()
+                && (!Files.isRegularFile(options.getBaseConfigPath())
+                    || !Files.isRegularFile(options.getPatchConfigPath()))) {
+            throw new IllegalArgumentException(
+                    "Checkstyle configuration xml file is missing");
+        }
+    }
+
+    /**
+     * Performs validation of the limits of shown records.
+     *
+     * @param options
+     *            POJO holding all options.
+     * @throws IllegalArgumentException
+     *             on failure of any check.
+     */
+    private static void validateLimits(CliOptions options) {
+        if (options.getMaxRecordsPerModule() < 1) {
+            throw new IllegalArgumentException("Maximal number of records per module should be "
+                    + "positive: " + options.getMaxRecordsPerModule());
+        }
+        if (options.getMaxRecordsPerFile() < 1) {
+            throw new IllegalArgumentException("Maximal number of records per file should be "
+                    + "positive: " + options.getMaxRecordsPerFile());
+        }
+    }
+
+    /**
+     * Performs validation of the profiles of Checkstyle runs.
+     *
+     * @param options
+     *            POJO holding all options.
+     * @throws IllegalArgumentException
+     *             on failure of any check.
+     */
+    private static void validateProfiles(CliOptions options) {
+        if (options.getBaseProfilePath() == null && options.getPatchProfilePath() != null) {
+            throw new IllegalArgumentException(
+                    "Base profile path is missing while patch profile path is present");
+        }
+        if (options.getPatchProfilePath() == null && options.getBaseProfilePath() != null) {
+            throw new IllegalArgumentException(
+                    "Patch profile path is missing while base profile path is present");
+        }
+        if (options.getBaseProfilePath() != null
+                && !Files.isRegularFile(options.getBaseProfilePath())) {
+            throw new IllegalArgumentException("Base profile file doesn't exist: "
+                    + options.getBaseProfilePath());
+        }
+        if (options.getPatchProfilePath() != null
+                && !Files.isRegularFile(options.getPatchProfilePath())) {
+            throw new IllegalArgumentException("Patch profile file doesn't exist: "
+                    + options.getPatchProfilePath());
+        }
     }
 
     /**
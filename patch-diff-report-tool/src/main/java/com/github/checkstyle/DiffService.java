@@ -0,0 +1,328 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.CliOptions;
+import com.github.checkstyle.data.DiffReport;
+import com.github.checkstyle.data.MergedConfigurationModule;
+import com.github.checkstyle.data.Statistics;
+import com.github.checkstyle.parser.CheckstyleReportsParser;
+import com.github.checkstyle.site.SiteGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Long-running local HTTP service, which keeps the parsed base report in memory and
+ * generates diff sites for patch reports posted to {@link #DIFF_CONTEXT}.
+ * The site of a patch report is generated into the output directory in the folder named
+ * by the SHA-256 hash of the report. Results of the last patch reports are kept in LRU
+ * cache, sites of evicted results are deleted. Requests are processed one by one.
+ */
+public final class DiffService {
+
+    /**
+     * Path of the HTTP requests with patch reports.
+     */
+    public static final String DIFF_CONTEXT = "/diff";
+
+    /**
+     * Algorithm of the hash of patch reports.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * HTTP method of the requests.
+     */
+    private static final String METHOD_POST = "POST";
+
+    /**
+     * Parsed base report, it is never changed.
+     */
+    private final DiffReport baseReport;
+
+    /**
+     * Merged configurations from both reports, may be null.
+     */
+    private final MergedConfigurationModule diffConfiguration;
+
+    /**
+     * CLI options of the service, output path is the root of the sites.
+     */
+    private final CliOptions options;
+
+    /**
+     * Maximal number of cached results.
+     */
+    private final int cacheSize;
+
+    /**
+     * Results by hashes of patch reports in the order of access.
+     */
+    private final Map<String, DiffResult> cache;
+
+    /**
+     * Creates the service.
+     *
+     * @param baseReport
+     *        base report parsed by {@link CheckstyleReportsParser#parseBase}.
+     * @param diffConfiguration
+     *        merged configurations from both reports, may be null.
+     * @param options
+     *        CLI options of the service.
+     * @param cacheSize
+     *        maximal number of cached results.
+     */
+    public DiffService(DiffReport baseReport, MergedConfigurationModule diffConfiguration,
+            CliOptions options, int cacheSize) {
+        this.baseReport = baseReport;
+        this.diffConfiguration = diffConfiguration;
+        this.options = options;
+        this.cacheSize = cacheSize;
+        cache = new LinkedHashMap<>(cacheSize + 1, 1, true);
+    }
+
+    /**
+     * Starts HTTP server on the loopback address.
+     *
+     * @param port
+     *        port to listen, 0 to use any free port.
+     * @return the started server.
+     * @throws IOException
+     *         if server can not be started.
+     */
+    public HttpServer start(int port) throws IOException {
+        final HttpServer server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(DIFF_CONTEXT, this::handle);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Generates diff site of the patch report, or takes it from the cache.
+     *
+     * @param patchReport
+     *        content of the patch XML report.
+     * @return summary of the difference in JSON.
+     * @throws IOException
+     *         on failure to write site to disc.
+     * @throws XMLStreamException
+     *         if the patch report is not valid.
+     */
+    public synchronized String diff(byte[] patchReport)
+            throws IOException, XMLStreamException {
+        final String hash = getHash(patchReport);
+        DiffResult result = cache.get(hash);
+        final boolean cached = result != null;
+        if (!cached) {
+            final Path sitePath = options.getOutputPath().resolve(hash);
+            final CliOptions siteOptions = new CliOptions(options.getCompareMode(),
+                    options.getBaseReportPath(), null, options.getRefFilesPath(), sitePath,
+                    options.getBaseConfigPath(), options.getPatchConfigPath(),
+                    options.isShortFilePaths(), null, null, options.getRenderer(),
+                    options.getMaxRecordsPerModule(), options.getMaxRecordsPerFile(),
+                    options.getOutputFormats());
+            final DiffReport diffReport = CheckstyleReportsParser.parsePatch(baseReport,
+                    new ByteArrayInputStream(patchReport));
+            diffReport.sampleRecords(options.getMaxRecordsPerModule(),
+                    options.getMaxRecordsPerFile());
+            // site generation replaces xrefs of records, base records are shared
+            diffReport.getRecords().replaceAll((filename, records) -> copyRecords(records));
+            Main.exportResources(siteOptions);
+            SiteGenerator.generate(diffReport, diffConfiguration, null, siteOptions);
+            result = new DiffResult(sitePath, diffReport.getStatistics());
+            cache.put(hash, result);
+            evict();
+        }
+        return result.toJson(hash, cached);
+    }
+
+    /**
+     * Handles HTTP request.
+     *
+     * @param exchange
+     *        the request and its response.
+     * @throws IOException
+     *         on failure to send response.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        int status = HttpURLConnection.HTTP_OK;
+        String response;
+        if (METHOD_POST.equals(exchange.getRequestMethod())) {
+            try {
+                response = diff(exchange.getRequestBody().readAllBytes());
+            }
+            catch (XMLStreamException ex) {
+                status = HttpURLConnection.HTTP_BAD_REQUEST;
+                response = "Patch report is not valid: " + ex.getMessage();
+            }
+            // -@cs[IllegalCatch] Every failure of a report must be answered, not end the exchange
+            catch (IOException | RuntimeException ex) {
+                status = HttpURLConnection.HTTP_INTERNAL_ERROR;
+                response = "Failed to generate diff: " + ex;
+            }
+        }
+        else {
+            status = HttpURLConnection.HTTP_BAD_METHOD;
+            response = "Patch report should be sent by POST";
+        }
+        final byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        if (status == HttpURLConnection.HTTP_OK) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    /**
+     * Removes the least recently used results over the cache size and their sites.
+     *
+     * @throws IOException
+     *         on failure to delete a site.
+     */
+    private void evict() throws IOException {
+        final Iterator<DiffResult> iterator = cache.values().iterator();
+        while (cache.size() > cacheSize) {
+            final Path sitePath = iterator.next().sitePath;
+            iterator.remove();
+            if (Files.exists(sitePath)) {
+                FilesystemUtils.delete(sitePath);
+            }
+        }
+    }
+
+    /**
+     * Copies records of a file.
+     *
+     * @param records
+     *        records of a file.
+     * @return copies of the records.
+     */
+    private static List<CheckstyleRecord> copyRecords(List<CheckstyleRecord> records) {
+        final List<CheckstyleRecord> result = new ArrayList<>(records.size());
+        for (CheckstyleRecord checkstyleRecord : records) {
+            result.add(new CheckstyleRecord(checkstyleRecord.getIndex(),
+                    checkstyleRecord.getLine(), checkstyleRecord.getColumn(),
+                    checkstyleRecord.getSeverity(), checkstyleRecord.getSource(),
+                    checkstyleRecord.getMessage(), checkstyleRecord.getXref()));
+        }
+        return result;
+    }
+
+    /**
+     * Computes hex hash of the report.
+     *
+     * @param report
+     *        content of the report.
+     * @return the hash.
+     */
+    private static String getHash(byte[] report) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(report));
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Hash algorithm is not supported", ex);
+        }
+    }
+
+    /**
+     * Summary of the difference of a patch report.
+     */
+    private static final class DiffResult {
+
+        /**
+         * Path to the generated site.
+         */
+        private final Path sitePath;
+
+        /**
+         * Number of files with differences.
+         */
+        private final int files;
+
+        /**
+         * Number of records removed by the patch.
+         */
+        private final int removed;
+
+        /**
+         * Number of records added by the patch.
+         */
+        private final int added;
+
+        /**
+         * Creates the summary.
+         *
+         * @param sitePath
+         *        path to the generated site.
+         * @param statistics
+         *        statistics of the difference.
+         */
+        private DiffResult(Path sitePath, Statistics statistics) {
+            this.sitePath = sitePath;
+            files = statistics.getFileNumDiff();
+            removed = statistics.getUniqueMessagesBase();
+            added = statistics.getUniqueMessagesPatch();
+        }
+
+        /**
+         * Writes the summary in JSON.
+         *
+         * @param hash
+         *        hash of the patch report.
+         * @param cached
+         *        {@code true} if the result is taken from the cache.
+         * @return the summary in JSON.
+         */
+        private String toJson(String hash, boolean cached) {
+            final String site = sitePath.resolve(SiteGenerator.SITEPATH).toAbsolutePath()
+                    .toString().replace("\\", "\\\\").replace("\"", "\\\"");
+            return "{\"hash\":\"" + hash + "\",\"cached\":" + cached
+                    + ",\"site\":\"" + site + "\",\"files\":" + files
+                    + ",\"removed\":" + removed + ",\"added\":" + added + "}";
+        }
+
+    }
+
+}
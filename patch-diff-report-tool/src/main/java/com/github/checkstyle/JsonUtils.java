@@ -0,0 +1,70 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle;
+
+/**
+ * Utility class used for writing of JSON.
+ */
+public final class JsonUtils {
+
+    /**
+     * Private ctor.
+     */
+    private JsonUtils() {
+
+    }
+
+    /**
+     * Appends JSON string, or null.
+     *
+     * @param builder
+     *        the JSON.
+     * @param value
+     *        the string, may be null.
+     */
+    public static void appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+        }
+        else {
+            builder.append('"');
+            for (int position = 0; position < value.length(); position++) {
+                final char character = value.charAt(position);
+                switch (character) {
+                    case '"' -> builder.append("\\\"");
+                    case '\\' -> builder.append("\\\\");
+                    case '\n' -> builder.append("\\n");
+                    case '\r' -> builder.append("\\r");
+                    case '\t' -> builder.append("\\t");
+                    default -> {
+                        if (character < ' ') {
+                            builder.append(String.format("\\u%04x", (int) character));
+                        }
+                        else {
+                            builder.append(character);
+                        }
+                    }
+                }
+            }
+            builder.append('"');
+        }
+    }
+
+}
@@ -24,7 +24,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -36,10 +40,18 @@ import com.github.checkstyle.data.CliOptions;
 import com.github.checkstyle.data.CompareMode;
 import com.github.checkstyle.data.DiffReport;
 import com.github.checkstyle.data.MergedConfigurationModule;
+import com.github.checkstyle.data.OutputFormat;
+import com.github.checkstyle.data.PerformanceDiff;
+import com.github.checkstyle.data.Renderer;
 import com.github.checkstyle.parser.CheckstyleConfigurationsParser;
+import com.github.checkstyle.parser.CheckstyleProfileParser;
+import com.github.checkstyle.parser.CheckstyleReportsMerger;
 import com.github.checkstyle.parser.CheckstyleReportsParser;
 import com.github.checkstyle.parser.CheckstyleTextParser;
+import com.github.checkstyle.report.JsonLinesWriter;
+import com.github.checkstyle.report.SarifWriter;
 import com.github.checkstyle.site.SiteGenerator;
+import com.sun.net.httpserver.HttpServer;
 
 /**
  * Utility class, contains main function and its auxiliary routines.
@@ -71,6 +83,34 @@ public final class Main {
             + "\t--shortFilePaths - Option to save report file paths as a shorter version to "
             + "prevent long paths. This option is useful for Windows users where they are "
             + "restricted to maximum directory depth. "
+            + "\t--baseProfile - path to the profile of the base checkstyle run (optional)"
+            + "\t--patchProfile - path to the profile of the patch checkstyle run (optional, "
+            + "if both profiles are present then performance difference will be in the report)"
+            + "\t--renderer - renderer of violations in the site; 'THYMELEAF' processes "
+            + "the content template for every file, 'FAST' writes the same html directly, "
+            + "'JSON' writes violations as gzip JSON shards to data folder, which are loaded "
+            + "by the viewer in the site when scrolled to (optional); default: THYMELEAF"
+            + "\t--maxRecordsPerModule - maximal number of records of a module shown in the "
+            + "site, evenly spaced records are shown and statistics count all records, SARIF "
+            + "and JSONL outputs contain all records (optional)"
+            + "\t--maxRecordsPerFile - maximal number of records of a file shown in the site "
+            + "(optional)"
+            + "\t--outputFormat - comma separated formats of the difference written to --output "
+            + "folder; 'SITE' generates the html site, 'SARIF' writes SARIF 2.1.0 log "
+            + "diff.sarif, 'JSONL' writes JSON Lines file diff.jsonl with statistics and "
+            + "a line per violation (optional); default: SITE"
+            + "\t--metrics - write wall time, allocated bytes, garbage collections, heap usage "
+            + "at the end, upper bound of peak heap as sum of peaks of heap pools and numbers "
+            + "of records and files of every stage to metrics.json in --output "
+            + "folder and print their summary (optional)"
+            + "\t--mergeReports - comma separated paths to partial checkstyle-result.xml "
+            + "reports sorted by file name, they are merged into the single report at --output "
+            + "path instead of diff generation"
+            + "\t--serve - port of the local HTTP diff service; the base report (and "
+            + "configurations) are parsed once, patch reports posted to /diff get sites "
+            + "generated into --output folder named by the report hash"
+            + "\t--cacheSize - number of the last patch report results kept by the diff service "
+            + "(optional); default: 16"
             + "\t-h - simply shows help message.";
 
     /**
@@ -93,6 +133,17 @@ public final class Main {
      */
     public static final Path CSS_FILEPATH = Paths.get("css");
 
+    /**
+     * Message of the start of configuration processing.
+     */
+    private static final String MSG_CONFIG_STARTED =
+            "Creation of configuration report is started.";
+
+    /**
+     * Separator of values of command line options, which are lists.
+     */
+    private static final String LIST_SEPARATOR = ",";
+
     /**
      * Name for command line option "compareMode".
      */
@@ -134,6 +185,61 @@ public final class Main {
      */
     private static final String OPTION_SHORT_PATHS = "shortFilePaths";
 
+    /**
+     * Name for command line option "baseProfilePath".
+     */
+    private static final String OPTION_BASE_PROFILE_PATH = "baseProfile";
+
+    /**
+     * Name for command line option "patchProfilePath".
+     */
+    private static final String OPTION_PATCH_PROFILE_PATH = "patchProfile";
+
+    /**
+     * Name for command line option "renderer".
+     */
+    private static final String OPTION_RENDERER = "renderer";
+
+    /**
+     * Name for command line option "maxRecordsPerModule".
+     */
+    private static final String OPTION_MAX_RECORDS_PER_MODULE = "maxRecordsPerModule";
+
+    /**
+     * Name for command line option "maxRecordsPerFile".
+     */
+    private static final String OPTION_MAX_RECORDS_PER_FILE = "maxRecordsPerFile";
+
+    /**
+     * Name for command line option "outputFormat".
+     */
+    private static final String OPTION_OUTPUT_FORMAT = "outputFormat";
+
+    /**
+     * Name for command line option "metrics".
+     */
+    private static final String OPTION_METRICS = "metrics";
+
+    /**
+     * Name for command line option "mergeReports".
+     */
+    private static final String OPTION_MERGE_REPORTS = "mergeReports";
+
+    /**
+     * Name for command line option "serve".
+     */
+    private static final String OPTION_SERVE = "serve";
+
+    /**
+     * Name for command line option "cacheSize".
+     */
+    private static final String OPTION_CACHE_SIZE = "cacheSize";
+
+    /**
+     * Default number of results cached by the diff service.
+     */
+    private static final int DEFAULT_CACHE_SIZE = 16;
+
     /**
      * Name for command line option that shows help message.
      */
@@ -160,10 +266,18 @@ public final class Main {
         if (commandLine.hasOption(OPTION_HELP)) {
             System.out.println(MSG_HELP);
         }
+        else if (commandLine.hasOption(OPTION_MERGE_REPORTS)) {
+            mergeReports(commandLine);
+        }
+        else if (commandLine.hasOption(OPTION_SERVE)) {
+            serve(commandLine);
+        }
         else {
             final CliOptions options = getCliOptions(commandLine);
+            final Metrics metrics = new Metrics(commandLine.hasOption(OPTION_METRICS));
             final DiffReport diffReport;
 
+            metrics.startStage("parse");
             if (options.getCompareMode() == CompareMode.XML) {
                 // XML parsing stage
                 System.out.println("XML parsing is started.");
@@ -177,27 +291,179 @@ public final class Main {
                         options.getPatchReportPath());
             }
 
-            // Configuration processing stage.
-            MergedConfigurationModule diffConfiguration = null;
-            if (options.configurationPresent()) {
-                System.out.println("Creation of configuration report is started.");
-                diffConfiguration = CheckstyleConfigurationsParser
-                        .parse(options.getBaseConfigPath(), options.getPatchConfigPath());
-            }
-            else {
-                System.out.println(
-                        "Configuration processing skipped: " + "no configuration paths provided.");
+            metrics.stopStage(diffReport);
+
+            // machine readable formats get all records, limits apply to the site only
+            writeMachineOutput(diffReport, options, metrics);
+            if (options.getOutputFormats().contains(OutputFormat.SITE)) {
+                diffReport.sampleRecords(options.getMaxRecordsPerModule(),
+                        options.getMaxRecordsPerFile());
+                generateSite(diffReport, options, metrics);
             }
 
-            // Site and XREF generation stage
-            System.out.println("Creation of diff html site is started.");
-            exportResources(options);
-            SiteGenerator.generate(diffReport, diffConfiguration, options);
-            System.out.println("Creation of the result site succeed.");
+            if (commandLine.hasOption(OPTION_METRICS)) {
+                writeMetrics(metrics, options);
+            }
         }
         System.out.println("patch-diff-report-tool execution finished.");
     }
 
+    /**
+     * Processes configurations and profiles, then generates the site.
+     *
+     * @param diffReport
+     *        difference between two checkstyle reports.
+     * @param options
+     *        POJO holding all options.
+     * @param metrics
+     *        metrics of stages.
+     * @throws Exception
+     *         on failure to generate the site.
+     */
+    private static void generateSite(DiffReport diffReport, CliOptions options,
+            Metrics metrics) throws Exception {
+        // Configuration processing stage.
+        MergedConfigurationModule diffConfiguration = null;
+        if (options.configurationPresent()) {
+            System.out.println(MSG_CONFIG_STARTED);
+            metrics.startStage("config");
+            diffConfiguration = CheckstyleConfigurationsParser
+                    .parse(options.getBaseConfigPath(), options.getPatchConfigPath());
+            metrics.stopStage();
+        }
+        else {
+            System.out.println(
+                    "Configuration processing skipped: " + "no configuration paths provided.");
+        }
+
+        // Profiles processing stage.
+        PerformanceDiff performanceDiff = null;
+        if (options.profilesPresent()) {
+            System.out.println("Creation of performance report is started.");
+            metrics.startStage("profiles");
+            performanceDiff = new PerformanceDiff(
+                    CheckstyleProfileParser.parse(options.getBaseProfilePath()),
+                    CheckstyleProfileParser.parse(options.getPatchProfilePath()));
+            metrics.stopStage();
+        }
+
+        // Site and XREF generation stage
+        System.out.println("Creation of diff html site is started.");
+        metrics.startStage(XREF_FILEPATH.toString());
+        exportResources(options);
+        SiteGenerator.generateXref(diffReport, options);
+        metrics.stopStage(diffReport);
+        metrics.startStage("render");
+        SiteGenerator.render(diffReport, diffConfiguration, performanceDiff, options);
+        metrics.stopStage(diffReport);
+        System.out.println("Creation of the result site succeed.");
+    }
+
+    /**
+     * Writes the difference in machine readable formats, which do not need the site.
+     *
+     * @param diffReport
+     *        difference between two checkstyle reports.
+     * @param options
+     *        POJO holding all options.
+     * @param metrics
+     *        metrics of stages.
+     * @throws IOException
+     *         on failure to write files.
+     */
+    private static void writeMachineOutput(DiffReport diffReport, CliOptions options,
+            Metrics metrics) throws IOException {
+        final Path outputPath = options.getOutputPath();
+        if (options.getOutputFormats().contains(OutputFormat.SARIF)) {
+            Files.createDirectories(outputPath);
+            metrics.startStage("sarif");
+            SarifWriter.write(diffReport, options.getRefFilesPath(),
+                    outputPath.resolve(SarifWriter.FILENAME));
+            metrics.stopStage(diffReport);
+            System.out.println("SARIF log is saved to " + outputPath.resolve(SarifWriter.FILENAME));
+        }
+        if (options.getOutputFormats().contains(OutputFormat.JSONL)) {
+            Files.createDirectories(outputPath);
+            metrics.startStage("jsonl");
+            JsonLinesWriter.write(diffReport, outputPath.resolve(JsonLinesWriter.FILENAME));
+            metrics.stopStage(diffReport);
+            System.out.println("JSON Lines file is saved to "
+                    + outputPath.resolve(JsonLinesWriter.FILENAME));
+        }
+    }
+
+    /**
+     * Writes metrics of stages to the output folder and prints their summary.
+     *
+     * @param metrics
+     *        metrics of stages.
+     * @param options
+     *        POJO holding all options.
+     * @throws IOException
+     *         on failure to write the file.
+     */
+    private static void writeMetrics(Metrics metrics, CliOptions options) throws IOException {
+        final Path metricsPath = options.getOutputPath().resolve(Metrics.FILENAME);
+        Files.createDirectories(options.getOutputPath());
+        metrics.write(metricsPath);
+        System.out.print(metrics.getSummary());
+        System.out.println("Metrics are saved to " + metricsPath);
+    }
+
+    /**
+     * Merges partial reports into the single report.
+     *
+     * @param commandLine
+     *        parsed CLI.
+     * @throws Exception
+     *         on failure to merge reports.
+     */
+    private static void mergeReports(CommandLine commandLine) throws Exception {
+        final List<Path> reports = new ArrayList<>();
+        final String[] values =
+                commandLine.getOptionValue(OPTION_MERGE_REPORTS).split(LIST_SEPARATOR);
+        for (String report : values) {
+            if (!report.isBlank()) {
+                reports.add(Paths.get(report.trim()));
+            }
+        }
+        final Path mergedReport = getPath(OPTION_OUTPUT_PATH, commandLine, null);
+        CliArgsValidator.validateMerge(reports, mergedReport);
+        System.out.println("Merge of reports is started.");
+        CheckstyleReportsMerger.merge(reports, mergedReport);
+        System.out.println("Merged report is saved to " + mergedReport);
+    }
+
+    /**
+     * Starts the diff service and waits for its termination.
+     *
+     * @param commandLine
+     *        parsed CLI.
+     * @throws Exception
+     *         on failure to start the service.
+     */
+    private static void serve(CommandLine commandLine) throws Exception {
+        final CliOptions options = parseCliToPojo(commandLine);
+        final int port = getNumber(OPTION_SERVE, commandLine, 0);
+        final int cacheSize = getNumber(OPTION_CACHE_SIZE, commandLine, DEFAULT_CACHE_SIZE);
+        CliArgsValidator.validateService(options, port, cacheSize);
+        System.out.println("XML parsing of base report is started.");
+        final DiffReport baseReport =
+                CheckstyleReportsParser.parseBase(options.getBaseReportPath());
+        MergedConfigurationModule diffConfiguration = null;
+        if (options.configurationPresent()) {
+            System.out.println(MSG_CONFIG_STARTED);
+            diffConfiguration = CheckstyleConfigurationsParser
+                    .parse(options.getBaseConfigPath(), options.getPatchConfigPath());
+        }
+        final HttpServer server = new DiffService(baseReport, diffConfiguration, options,
+                cacheSize).start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(0)));
+        System.out.println("Diff service is listening on http://localhost:"
+                + server.getAddress().getPort() + DiffService.DIFF_CONTEXT);
+        Thread.currentThread().join();
+    }
+
     /**
      * Parses CLI.
      *
@@ -236,7 +502,7 @@ public final class Main {
      * @throws IOException
      *         thrown on failure to perform checks.
      */
-    private static void exportResources(CliOptions options) throws IOException {
+    static void exportResources(CliOptions options) throws IOException {
         final Path outputPath = options.getOutputPath();
         Files.createDirectories(outputPath);
         FilesystemUtils.createOverwriteDirectory(outputPath.resolve(CSS_FILEPATH));
@@ -272,6 +538,26 @@ public final class Main {
                 "Path to the checkstyle configuration xml of the patch report.");
         options.addOption(null, OPTION_SHORT_PATHS, false,
                 "Option to save report file paths as a shorter version to prevent long paths.");
+        options.addOption(null, OPTION_BASE_PROFILE_PATH, true,
+                "Path to the profile of the base checkstyle run.");
+        options.addOption(null, OPTION_PATCH_PROFILE_PATH, true,
+                "Path to the profile of the patch checkstyle run.");
+        options.addOption(null, OPTION_RENDERER, true,
+                "Option to control which renderer writes violations to the site.");
+        options.addOption(null, OPTION_MAX_RECORDS_PER_MODULE, true,
+                "Maximal number of records of a module shown in the site.");
+        options.addOption(null, OPTION_MAX_RECORDS_PER_FILE, true,
+                "Maximal number of records of a file shown in the site.");
+        options.addOption(null, OPTION_OUTPUT_FORMAT, true,
+                "Comma separated formats of the difference written to the output folder.");
+        options.addOption(null, OPTION_METRICS, false,
+                "Writes metrics of every stage to the output folder and prints them.");
+        options.addOption(null, OPTION_MERGE_REPORTS, true,
+                "Comma separated paths to partial checkstyle-report.xml files to merge.");
+        options.addOption(null, OPTION_SERVE, true,
+                "Port of the local HTTP diff service, 0 to use any free port.");
+        options.addOption(null, OPTION_CACHE_SIZE, true,
+                "Number of patch report results cached by the diff service.");
         options.addOption(OPTION_HELP, false, "Shows help message, nothing else.");
         return options;
     }
@@ -299,8 +585,19 @@ public final class Main {
         final Path configBasePath = getPath(OPTION_BASE_CONFIG_PATH, commandLine, null);
         final Path configPatchPath = getPath(OPTION_PATCH_CONFIG_PATH, commandLine, null);
         final boolean shortFilePaths = commandLine.hasOption(OPTION_SHORT_PATHS);
+        final Path profileBasePath = getPath(OPTION_BASE_PROFILE_PATH, commandLine, null);
+        final Path profilePatchPath = getPath(OPTION_PATCH_PROFILE_PATH, commandLine, null);
+        final Renderer renderer = getRenderer(OPTION_RENDERER, commandLine, Renderer.THYMELEAF);
+        final int maxRecordsPerModule = getNumber(OPTION_MAX_RECORDS_PER_MODULE, commandLine,
+                Integer.MAX_VALUE);
+        final int maxRecordsPerFile = getNumber(OPTION_MAX_RECORDS_PER_FILE, commandLine,
+                Integer.MAX_VALUE);
+        final Set<OutputFormat> outputFormats = getOutputFormats(OPTION_OUTPUT_FORMAT,
+                commandLine, EnumSet.of(OutputFormat.SITE));
         return new CliOptions(compareMode, xmlBasePath, xmlPatchPath, refFilesPath, outputPath,
-                configBasePath, configPatchPath, shortFilePaths);
+                configBasePath, configPatchPath, shortFilePaths, profileBasePath,
+                profilePatchPath, renderer, maxRecordsPerModule, maxRecordsPerFile,
+                outputFormats);
     }
 
     /**
@@ -326,6 +623,80 @@ public final class Main {
         return result;
     }
 
+    /**
+     * Generates renderer from CLI option.
+     *
+     * @param optionName
+     *        name of the option.
+     * @param commandLine
+     *        parsed CLI.
+     * @param defaultRenderer
+     *        renderer which is used if CLI option is absent.
+     * @return renderer.
+     */
+    private static Renderer getRenderer(String optionName, CommandLine commandLine,
+            Renderer defaultRenderer) {
+        final Renderer result;
+        if (commandLine.hasOption(optionName)) {
+            result = Renderer.valueOf(commandLine.getOptionValue(optionName).toUpperCase());
+        }
+        else {
+            result = defaultRenderer;
+        }
+        return result;
+    }
+
+    /**
+     * Generates output formats from CLI option.
+     *
+     * @param optionName
+     *        name of the option.
+     * @param commandLine
+     *        parsed CLI.
+     * @param defaultFormats
+     *        formats which are used if CLI option is absent.
+     * @return output formats.
+     */
+    private static Set<OutputFormat> getOutputFormats(String optionName,
+            CommandLine commandLine, Set<OutputFormat> defaultFormats) {
+        final Set<OutputFormat> result;
+        if (commandLine.hasOption(optionName)) {
+            result = EnumSet.noneOf(OutputFormat.class);
+            for (String format : commandLine.getOptionValue(optionName).split(LIST_SEPARATOR)) {
+                if (!format.isBlank()) {
+                    result.add(OutputFormat.valueOf(format.trim().toUpperCase()));
+                }
+            }
+        }
+        else {
+            result = defaultFormats;
+        }
+        return result;
+    }
+
+    /**
+     * Generates number from CLI option.
+     *
+     * @param optionName
+     *        name of the option.
+     * @param commandLine
+     *        parsed CLI.
+     * @param defaultNumber
+     *        number which is used if CLI option is absent.
+     * @return number.
+     */
+    private static int getNumber(String optionName, CommandLine commandLine,
+            int defaultNumber) {
+        final int result;
+        if (commandLine.hasOption(optionName)) {
+            result = Integer.parseInt(commandLine.getOptionValue(optionName));
+        }
+        else {
+            result = defaultNumber;
+        }
+        return result;
+    }
+
     /**
      * Generates path from CLI option.
      *
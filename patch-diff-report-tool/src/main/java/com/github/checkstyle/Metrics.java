@@ -0,0 +1,424 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+
+package com.github.checkstyle;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.DiffReport;
+
+/**
+ * Measures stages of the tool run: wall time, bytes allocated by the thread, count and time
+ * of garbage collections, heap usage at the end of the stage, upper bound of peak heap usage,
+ * and numbers of records and files of the report after the stage. Stages are measured one
+ * after another in the same thread. Disabled metrics do not touch JVM management beans, so
+ * runs without measurement keep default accounting of allocations and peaks of pools.
+ */
+public final class Metrics {
+
+    /**
+     * Name of the metrics file in the output folder.
+     */
+    public static final String FILENAME = "metrics.json";
+
+    /**
+     * Nanoseconds in millisecond.
+     */
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    /**
+     * Bytes in megabyte.
+     */
+    private static final double BYTES_IN_MEGABYTE = 1024.0 * 1024.0;
+
+    /**
+     * Tenths in one, milliseconds are rounded to tenths.
+     */
+    private static final double TENTHS = 10.0;
+
+    /**
+     * Format of milliseconds and megabytes, which have one decimal place.
+     */
+    private static final String DECIMAL_FORMAT = "%.1f";
+
+    /**
+     * Format of a line of the summary.
+     */
+    private static final String SUMMARY_FORMAT =
+            "%-10s %10s %12s %8s %10s %10s %14s %10s %8s%n";
+
+    /**
+     * Whether stages are measured.
+     */
+    private final boolean enabled;
+
+    /**
+     * Memory bean, which gives the total heap usage.
+     */
+    private final MemoryMXBean memoryBean;
+
+    /**
+     * Thread bean, which measures allocated bytes, or null if it is not supported.
+     */
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    /**
+     * Garbage collector beans of collectors, which stop the application.
+     */
+    private final List<GarbageCollectorMXBean> gcBeans = new ArrayList<>();
+
+    /**
+     * Memory pool beans of heap.
+     */
+    private final List<MemoryPoolMXBean> heapPoolBeans = new ArrayList<>();
+
+    /**
+     * Measured stages.
+     */
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Stage being measured.
+     */
+    private Stage current;
+
+    /**
+     * Creates metrics.
+     *
+     * @param enabled
+     *        whether stages are measured, otherwise starts and stops of stages do nothing.
+     */
+    public Metrics(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            memoryBean = ManagementFactory.getMemoryMXBean();
+            threadBean = getThreadBean();
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                // concurrent cycles of G1 and ZGC do not stop the application
+                if (!bean.getName().contains("Concurrent") && !bean.getName().contains("Cycles")) {
+                    gcBeans.add(bean);
+                }
+            }
+            for (MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (bean.getType() == MemoryType.HEAP) {
+                    heapPoolBeans.add(bean);
+                }
+            }
+        }
+        else {
+            memoryBean = null;
+            threadBean = null;
+        }
+    }
+
+    /**
+     * Starts measurement of the stage.
+     *
+     * @param name
+     *        name of the stage.
+     */
+    public void startStage(String name) {
+        if (enabled) {
+            for (MemoryPoolMXBean bean : heapPoolBeans) {
+                bean.resetPeakUsage();
+            }
+            current = new Stage(name);
+            current.allocatedBytes = getAllocatedBytes();
+            current.gcCount = getGcCount();
+            current.gcTimeMillis = getGcTimeMillis();
+            current.timeNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Finishes measurement of the current stage, which has no report to count.
+     */
+    public void stopStage() {
+        if (enabled) {
+            current.timeNanos = System.nanoTime() - current.timeNanos;
+            if (current.allocatedBytes >= 0) {
+                current.allocatedBytes = getAllocatedBytes() - current.allocatedBytes;
+            }
+            current.gcCount = getGcCount() - current.gcCount;
+            current.gcTimeMillis = getGcTimeMillis() - current.gcTimeMillis;
+            current.heapUsedBytes = memoryBean.getHeapMemoryUsage().getUsed();
+            current.peakHeapUpperBoundBytes = getPeakHeapUpperBoundBytes();
+            stages.add(current);
+            current = null;
+        }
+    }
+
+    /**
+     * Finishes measurement of the current stage and counts records and files of the report.
+     *
+     * @param diffReport
+     *        report processed by the stage.
+     */
+    public void stopStage(DiffReport diffReport) {
+        if (enabled) {
+            final Stage stage = current;
+            stopStage();
+            long records = 0;
+            for (List<CheckstyleRecord> fileRecords : diffReport.getRecords().values()) {
+                records += fileRecords.size();
+            }
+            stage.records = records;
+            stage.files = diffReport.getRecords().size();
+        }
+    }
+
+    /**
+     * Writes measured stages to the JSON file.
+     *
+     * @param outputFile
+     *        path to the file.
+     * @throws IOException
+     *         on failure to write the file.
+     */
+    public void write(Path outputFile) throws IOException {
+        final StringBuilder json = new StringBuilder(256);
+        json.append("{\"maxHeapBytes\":").append(Runtime.getRuntime().maxMemory())
+            .append(",\"stages\":[");
+        for (int index = 0; index < stages.size(); index++) {
+            final Stage stage = stages.get(index);
+            if (index > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":");
+            JsonUtils.appendString(json, stage.name);
+            json.append(",\"timeMillis\":").append(getMillis(stage))
+                .append(",\"allocatedBytes\":").append(stage.allocatedBytes)
+                .append(",\"gcCount\":").append(stage.gcCount)
+                .append(",\"gcTimeMillis\":").append(stage.gcTimeMillis)
+                .append(",\"heapUsedBytes\":").append(stage.heapUsedBytes)
+                .append(",\"peakHeapUpperBoundBytes\":").append(stage.peakHeapUpperBoundBytes);
+            if (stage.records >= 0) {
+                json.append(",\"records\":").append(stage.records)
+                    .append(",\"files\":").append(stage.files);
+            }
+            json.append('}');
+        }
+        json.append("]}\n");
+        Files.writeString(outputFile, json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates table of measured stages for console.
+     *
+     * @return the table.
+     */
+    public String getSummary() {
+        final StringBuilder summary = new StringBuilder(256);
+        summary.append(String.format(Locale.ROOT, SUMMARY_FORMAT, "stage", "time, ms",
+                "alloc, MB", "GCs", "GC, ms", "heap, MB", "peak <=, MB", "records", "files"));
+        for (Stage stage : stages) {
+            final String allocated;
+            if (stage.allocatedBytes < 0) {
+                allocated = "n/a";
+            }
+            else {
+                allocated = formatMegabytes(stage.allocatedBytes);
+            }
+            final String records;
+            final String files;
+            if (stage.records < 0) {
+                records = "";
+                files = "";
+            }
+            else {
+                records = Long.toString(stage.records);
+                files = Long.toString(stage.files);
+            }
+            summary.append(String.format(Locale.ROOT, SUMMARY_FORMAT, stage.name,
+                    String.format(Locale.ROOT, DECIMAL_FORMAT, getMillis(stage)), allocated,
+                    stage.gcCount, stage.gcTimeMillis, formatMegabytes(stage.heapUsedBytes),
+                    formatMegabytes(stage.peakHeapUpperBoundBytes), records, files));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Gets thread bean and enables measurement of allocated bytes by it.
+     *
+     * @return thread bean, or null if measurement of allocated bytes is not supported.
+     */
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        com.sun.management.ThreadMXBean result = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            result = bean;
+        }
+        return result;
+    }
+
+    /**
+     * Gets bytes allocated by the current thread.
+     *
+     * @return allocated bytes, or -1 if they are not measured.
+     */
+    private long getAllocatedBytes() {
+        final long result;
+        if (threadBean == null) {
+            result = -1;
+        }
+        else {
+            result = threadBean.getCurrentThreadAllocatedBytes();
+        }
+        return result;
+    }
+
+    /**
+     * Gets total count of collections.
+     *
+     * @return count of collections.
+     */
+    private long getGcCount() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            result += Math.max(0, bean.getCollectionCount());
+        }
+        return result;
+    }
+
+    /**
+     * Gets total time of collections.
+     *
+     * @return time of collections in milliseconds.
+     */
+    private long getGcTimeMillis() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            result += Math.max(0, bean.getCollectionTime());
+        }
+        return result;
+    }
+
+    /**
+     * Gets sum of peaks of heap pools since the stage start. Pools reach their peaks at
+     * different moments, so the sum is an upper bound of the peak heap usage.
+     *
+     * @return upper bound of peak heap usage in bytes.
+     */
+    private long getPeakHeapUpperBoundBytes() {
+        long result = 0;
+        for (MemoryPoolMXBean bean : heapPoolBeans) {
+            result += bean.getPeakUsage().getUsed();
+        }
+        return result;
+    }
+
+    /**
+     * Gets wall time of the stage.
+     *
+     * @param stage
+     *        the stage.
+     * @return time in milliseconds.
+     */
+    private static double getMillis(Stage stage) {
+        return Math.round(stage.timeNanos / NANOS_IN_MILLI * TENTHS) / TENTHS;
+    }
+
+    /**
+     * Formats bytes as megabytes.
+     *
+     * @param bytes
+     *        number of bytes.
+     * @return formatted megabytes.
+     */
+    private static String formatMegabytes(long bytes) {
+        return String.format(Locale.ROOT, DECIMAL_FORMAT, bytes / BYTES_IN_MEGABYTE);
+    }
+
+    /**
+     * Measurement of a stage.
+     */
+    private static final class Stage {
+
+        /**
+         * Name of the stage.
+         */
+        private final String name;
+
+        /**
+         * Wall time in nanoseconds, the start time while measured.
+         */
+        private long timeNanos;
+
+        /**
+         * Bytes allocated by the thread, or -1 if not measured.
+         */
+        private long allocatedBytes;
+
+        /**
+         * Count of collections.
+         */
+        private long gcCount;
+
+        /**
+         * Time of collections in milliseconds.
+         */
+        private long gcTimeMillis;
+
+        /**
+         * Heap usage at the end of the stage in bytes.
+         */
+        private long heapUsedBytes;
+
+        /**
+         * Sum of peaks of heap pools in bytes, an upper bound of peak heap usage.
+         */
+        private long peakHeapUpperBoundBytes;
+
+        /**
+         * Number of records of the report, or -1 if not counted.
+         */
+        private long records = -1;
+
+        /**
+         * Number of files of the report, or -1 if not counted.
+         */
+        private long files = -1;
+
+        /**
+         * Creates the stage.
+         *
+         * @param name
+         *        name of the stage.
+         */
+        private Stage(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contains cumulative time of every module and of every file
+ * measured by a profiled Checkstyle run.
+ */
+public final class CheckstyleProfile {
+
+    /**
+     * Time in nanoseconds spent by every module, mapped by module name.
+     */
+    private final Map<String, Long> moduleTimes = new HashMap<>();
+
+    /**
+     * Time in nanoseconds spent on every file, mapped by file name.
+     */
+    private final Map<String, Long> fileTimes = new HashMap<>();
+
+    /**
+     * Adds time of the module to the profile.
+     *
+     * @param name
+     *        name of the module.
+     * @param time
+     *        time in nanoseconds.
+     */
+    public void addModuleTime(String name, long time) {
+        moduleTimes.merge(name, time, Long::sum);
+    }
+
+    /**
+     * Adds time of the file to the profile.
+     *
+     * @param name
+     *        name of the file.
+     * @param time
+     *        time in nanoseconds.
+     */
+    public void addFileTime(String name, long time) {
+        fileTimes.merge(name, time, Long::sum);
+    }
+
+    /**
+     * Returns time in nanoseconds spent by every module.
+     *
+     * @return time in nanoseconds spent by every module
+     */
+    public Map<String, Long> getModuleTimes() {
+        return moduleTimes;
+    }
+
+    /**
+     * Returns time in nanoseconds spent on every file.
+     *
+     * @return time in nanoseconds spent on every file
+     */
+    public Map<String, Long> getFileTimes() {
+        return fileTimes;
+    }
+
+    /**
+     * Returns total time in nanoseconds spent by all modules.
+     *
+     * @return total time in nanoseconds
+     */
+    public long getTotalTime() {
+        return moduleTimes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+}
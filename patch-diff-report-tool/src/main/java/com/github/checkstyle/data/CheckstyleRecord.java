@@ -224,6 +224,19 @@ public final class CheckstyleRecord implements Comparable<CheckstyleRecord> {
         }
     }
 
+    /**
+     * Returns the key of the record content, which is equal for records that are equal
+     * by {@link #compareTo(CheckstyleRecord)}. Its hash code is computed from all compared
+     * fields, as many records share a position, e.g. violations of file checks, and keys,
+     * which are not comparable, of the same position would be searched linearly. Strings
+     * cache their hash codes, so they are hashed once.
+     *
+     * @return the key of the record content.
+     */
+    public Object getFingerprint() {
+        return new Fingerprint(this);
+    }
+
     /**
      * Compares CheckstyleRecord instances by their content.
      * The order is source, line, column, severity, message.
@@ -290,4 +303,46 @@ public final class CheckstyleRecord implements Comparable<CheckstyleRecord> {
         return result;
     }
 
+    /**
+     * Key of the record content for hash based collections.
+     */
+    private static final class Fingerprint {
+
+        /**
+         * Multiplier of the hash code.
+         */
+        private static final int HASH_MULTIPLIER = 31;
+
+        /**
+         * The record.
+         */
+        private final CheckstyleRecord checkstyleRecord;
+
+        /**
+         * Creates the key of the record.
+         *
+         * @param checkstyleRecord
+         *        the record.
+         */
+        private Fingerprint(CheckstyleRecord checkstyleRecord) {
+            this.checkstyleRecord = checkstyleRecord;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint
+                    && checkstyleRecord.compareTo(((Fingerprint) other).checkstyleRecord) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = checkstyleRecord.line;
+            result = HASH_MULTIPLIER * result + checkstyleRecord.column;
+            result = HASH_MULTIPLIER * result + checkstyleRecord.severity.hashCode();
+            result = HASH_MULTIPLIER * result + checkstyleRecord.message.hashCode();
+            return HASH_MULTIPLIER * result + checkstyleRecord.source.hashCode();
+        }
+
+    }
+
 }
@@ -20,6 +20,7 @@
 package com.github.checkstyle.data;
 
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * POJO class that hold input CLI options.
@@ -68,6 +69,36 @@ public final class CliOptions {
      */
     private final boolean shortFilePaths;
 
+    /**
+     * Path to the profile of the base Checkstyle run.
+     */
+    private final Path baseProfilePath;
+
+    /**
+     * Path to the profile of the patch Checkstyle run.
+     */
+    private final Path patchProfilePath;
+
+    /**
+     * Renderer of violations in the site report.
+     */
+    private final Renderer renderer;
+
+    /**
+     * Maximal number of records of a module shown in the site report.
+     */
+    private final int maxRecordsPerModule;
+
+    /**
+     * Maximal number of records of a file shown in the site report.
+     */
+    private final int maxRecordsPerFile;
+
+    /**
+     * Formats of the difference written to the output folder.
+     */
+    private final Set<OutputFormat> outputFormats;
+
     /**
      * POJO ctor.
      *
@@ -87,11 +118,25 @@ public final class CliOptions {
      *        path to the configuration of the patch report.
      * @param shortFilePaths
      *           {@code true} if only short file names should be used with no paths.
+     * @param baseProfilePath
+     *        path to the profile of the base Checkstyle run.
+     * @param patchProfilePath
+     *        path to the profile of the patch Checkstyle run.
+     * @param renderer
+     *        renderer of violations in the site report.
+     * @param maxRecordsPerModule
+     *        maximal number of records of a module shown in the site report.
+     * @param maxRecordsPerFile
+     *        maximal number of records of a file shown in the site report.
+     * @param outputFormats
+     *        formats of the difference written to the output folder.
      */
     // -@cs[ParameterNumber] Helper class to pass all CLI attributes around.
     public CliOptions(CompareMode compareMode, Path baseReportPath, Path patchReportPath,
             Path refFilesPath, Path outputPath, Path baseConfigPath, Path patchConfigPath,
-            boolean shortFilePaths) {
+            boolean shortFilePaths, Path baseProfilePath, Path patchProfilePath,
+            Renderer renderer, int maxRecordsPerModule, int maxRecordsPerFile,
+            Set<OutputFormat> outputFormats) {
         this.compareMode = compareMode;
         this.baseReportPath = baseReportPath;
         this.patchReportPath = patchReportPath;
@@ -100,6 +145,12 @@ public final class CliOptions {
         this.baseConfigPath = baseConfigPath;
         this.patchConfigPath = patchConfigPath;
         this.shortFilePaths = shortFilePaths;
+        this.baseProfilePath = baseProfilePath;
+        this.patchProfilePath = patchProfilePath;
+        this.renderer = renderer;
+        this.maxRecordsPerModule = maxRecordsPerModule;
+        this.maxRecordsPerFile = maxRecordsPerFile;
+        this.outputFormats = outputFormats;
     }
 
     /**
@@ -174,6 +225,24 @@ public final class CliOptions {
         return shortFilePaths;
     }
 
+    /**
+     * Returns the path to the profile of the base Checkstyle run.
+     *
+     * @return the path to the profile of the base Checkstyle run
+     */
+    public Path getBaseProfilePath() {
+        return baseProfilePath;
+    }
+
+    /**
+     * Returns the path to the profile of the patch Checkstyle run.
+     *
+     * @return the path to the profile of the patch Checkstyle run
+     */
+    public Path getPatchProfilePath() {
+        return patchProfilePath;
+    }
+
     /**
      * Checks if the necessary configuration paths are present to display them on the reports.
      *
@@ -183,4 +252,50 @@ public final class CliOptions {
         return patchConfigPath != null;
     }
 
+    /**
+     * Checks if the profiles of both runs are present to display performance difference
+     * on the reports.
+     *
+     * @return true if they are not null.
+     */
+    public boolean profilesPresent() {
+        return baseProfilePath != null && patchProfilePath != null;
+    }
+
+    /**
+     * Returns the renderer of violations in the site report.
+     *
+     * @return the renderer of violations
+     */
+    public Renderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Returns the maximal number of records of a module shown in the site report.
+     *
+     * @return the maximal number of records of a module
+     */
+    public int getMaxRecordsPerModule() {
+        return maxRecordsPerModule;
+    }
+
+    /**
+     * Returns the maximal number of records of a file shown in the site report.
+     *
+     * @return the maximal number of records of a file
+     */
+    public int getMaxRecordsPerFile() {
+        return maxRecordsPerFile;
+    }
+
+    /**
+     * Returns the formats of the difference written to the output folder.
+     *
+     * @return the formats of the difference
+     */
+    public Set<OutputFormat> getOutputFormats() {
+        return outputFormats;
+    }
+
 }
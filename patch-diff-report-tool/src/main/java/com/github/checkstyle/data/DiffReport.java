@@ -19,7 +19,10 @@
 
 package com.github.checkstyle.data;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -36,17 +39,45 @@ import com.github.checkstyle.parser.CheckstyleReportsParser;
  */
 public final class DiffReport {
 
+    /**
+     * Minimal total number of records of a file, for which difference of unsorted records is
+     * found by hash counting instead of sorting and merge. Sorting of sorted records is
+     * linear, so merge is always used for them. By DiffBenchmark results in
+     * benchmarks/baseline.txt both ways take equal time for unsorted reports of 32 to 64
+     * records each, hash counting is 1.4 times faster for 128 records and 2 times for 1024.
+     */
+    private static final int HASH_DIFF_THRESHOLD = 64;
+
     /**
      * Container for parsed data,
      * note it is a TreeMap for memory keeping purposes.
      */
-    private Map<String, List<CheckstyleRecord>> records =
-            new TreeMap<>();
+    private final Map<String, List<CheckstyleRecord>> records;
 
     /**
      * Container for statistical data.
      */
-    private Statistics statistics = new Statistics();
+    private final Statistics statistics;
+
+    /**
+     * Creates empty diff report.
+     */
+    public DiffReport() {
+        records = new TreeMap<>();
+        statistics = new Statistics();
+    }
+
+    /**
+     * Creates copy of the diff report, which can be changed independently.
+     * Lists of records are shared, as they are replaced, but never changed.
+     *
+     * @param other
+     *        the diff report to copy.
+     */
+    public DiffReport(DiffReport other) {
+        records = new TreeMap<>(other.records);
+        statistics = new Statistics(other.statistics);
+    }
 
     /**
      * Getter for data container.
@@ -70,6 +101,7 @@ public final class DiffReport {
      * Adds new records to the diff report,
      * when there are records with this filename, comparison
      * between them and new record is performed and only difference is saved.
+     * Records are sorted when the difference is found or statistics are generated.
      *
      * @param newRecords
      *        a new records list.
@@ -79,12 +111,20 @@ public final class DiffReport {
     public void addRecords(List<CheckstyleRecord> newRecords,
             String filename) {
         if (!newRecords.isEmpty()) {
-            Collections.sort(newRecords);
             final List<CheckstyleRecord> popped =
                 records.put(filename, newRecords);
             if (popped != null) {
-                final List<CheckstyleRecord> diff =
-                    DiffUtils.produceDiff(popped, newRecords);
+                final List<CheckstyleRecord> diff;
+                if (popped.size() + newRecords.size() < HASH_DIFF_THRESHOLD) {
+                    diff = DiffUtils.produceDiff(sort(popped), sort(newRecords));
+                }
+                else if (DiffUtils.isSorted(popped) && DiffUtils.isSorted(newRecords)) {
+                    diff = DiffUtils.produceDiff(popped, newRecords);
+                }
+                else {
+                    diff = DiffUtils.produceHashDiff(popped, newRecords,
+                            CheckstyleRecord::getFingerprint);
+                }
                 if (diff.isEmpty()) {
                     records.remove(filename);
                 }
@@ -100,12 +140,103 @@ public final class DiffReport {
      * This method will wait for completion of all asynchronous tasks.
      */
     public void getDiffStatistics() {
+        records.replaceAll((filename, fileRecords) -> sort(fileRecords));
         statistics.setFileNumDiff(records.size());
         records.entrySet().stream()
             .flatMap(entry -> entry.getValue().stream())
             .forEach(this::addRecordStatistics);
     }
 
+    /**
+     * Leaves in the report only a deterministic sample of records to be shown, when there are
+     * more records of a module or of a file than the limit. Records are sampled evenly by
+     * their position among records of the module, then among sampled records of the file.
+     * Statistics must be generated before, they keep exact numbers and get numbers of
+     * elided records.
+     *
+     * @param maxRecordsPerModule
+     *        maximal number of records of a module.
+     * @param maxRecordsPerFile
+     *        maximal number of records of a file.
+     */
+    public void sampleRecords(int maxRecordsPerModule, int maxRecordsPerFile) {
+        final Map<String, Integer> moduleCounts = new HashMap<>();
+        records.values().stream()
+            .flatMap(List::stream)
+            .forEach(checkstyleRecord -> {
+                moduleCounts.merge(checkstyleRecord.getSource(), 1, Integer::sum);
+            });
+        final Map<String, Integer> modulePositions = new HashMap<>();
+        final Iterator<Map.Entry<String, List<CheckstyleRecord>>> iterator =
+                records.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, List<CheckstyleRecord>> entry = iterator.next();
+            final List<CheckstyleRecord> moduleSample = new ArrayList<>();
+            for (CheckstyleRecord checkstyleRecord : entry.getValue()) {
+                final String source = checkstyleRecord.getSource();
+                final int position = modulePositions.merge(source, 1, Integer::sum) - 1;
+                if (isSampled(position, moduleCounts.get(source), maxRecordsPerModule)) {
+                    moduleSample.add(checkstyleRecord);
+                }
+                else {
+                    statistics.addModuleRecordElided(source);
+                }
+            }
+            final List<CheckstyleRecord> sample = new ArrayList<>();
+            for (int position = 0; position < moduleSample.size(); position++) {
+                final CheckstyleRecord checkstyleRecord = moduleSample.get(position);
+                if (isSampled(position, moduleSample.size(), maxRecordsPerFile)) {
+                    sample.add(checkstyleRecord);
+                }
+                else {
+                    statistics.addModuleRecordElided(checkstyleRecord.getSource());
+                }
+            }
+            if (sample.isEmpty()) {
+                iterator.remove();
+            }
+            else if (sample.size() < entry.getValue().size()) {
+                entry.setValue(sample);
+            }
+        }
+    }
+
+    /**
+     * Checks if the record is in the sample: positions of sampled records are evenly spaced,
+     * so exactly limit records are sampled.
+     *
+     * @param position
+     *        position of the record.
+     * @param count
+     *        number of records.
+     * @param limit
+     *        maximal number of sampled records.
+     * @return {@code true} if the record is in the sample.
+     */
+    private static boolean isSampled(int position, int count, int limit) {
+        return count <= limit
+            || (long) position * limit / count != ((long) position + 1) * limit / count;
+    }
+
+    /**
+     * Returns the records sorted, the same list if they are sorted already.
+     *
+     * @param fileRecords
+     *        records of a file.
+     * @return sorted records.
+     */
+    private static List<CheckstyleRecord> sort(List<CheckstyleRecord> fileRecords) {
+        final List<CheckstyleRecord> result;
+        if (DiffUtils.isSorted(fileRecords)) {
+            result = fileRecords;
+        }
+        else {
+            result = new ArrayList<>(fileRecords);
+            Collections.sort(result);
+        }
+        return result;
+    }
+
     /**
      * Generates statistical information for one CheckstyleRecord.
      *
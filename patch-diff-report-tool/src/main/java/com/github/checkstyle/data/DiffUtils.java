@@ -21,11 +21,15 @@ package com.github.checkstyle.data;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
- * Utility class to calculate difference between 2 sorted lists.
+ * Utility class to calculate difference between 2 lists, either sorted ones by merge
+ * or unsorted ones by counting of equal elements.
  */
 public final class DiffUtils {
 
@@ -58,6 +62,69 @@ public final class DiffUtils {
         return result;
     }
 
+    /**
+     * Creates difference between 2 lists in any order, counting equal elements by their
+     * fingerprints in a hash map, so only the difference is sorted. Elements with equal
+     * fingerprints must be equal by {@link Comparable#compareTo(Object)}.
+     *
+     * @param firstList
+     *        the first list.
+     * @param secondList
+     *        the second list.
+     * @param fingerprint
+     *        function which gives a key for equals and hashCode of an element.
+     * @param <T> the type of elements.
+     * @return the difference list (always sorted).
+     */
+    public static <T extends Comparable<T>> List<T> produceHashDiff(
+            List<T> firstList, List<T> secondList, Function<T, ?> fingerprint) {
+        final Map<Object, int[]> secondCounts = new HashMap<>(secondList.size() * 4 / 3 + 1);
+        for (T element : secondList) {
+            secondCounts.computeIfAbsent(fingerprint.apply(element), key -> new int[1])[0]++;
+        }
+        final List<T> result = new ArrayList<>();
+        for (T element : firstList) {
+            final int[] count = secondCounts.get(fingerprint.apply(element));
+            if (count == null || count[0] == 0) {
+                result.add(element);
+            }
+            else {
+                count[0]--;
+            }
+        }
+        for (T element : secondList) {
+            final int[] count = secondCounts.get(fingerprint.apply(element));
+            if (count[0] > 0) {
+                result.add(element);
+                count[0]--;
+            }
+        }
+        Collections.sort(result);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Checks if the list is sorted.
+     *
+     * @param list
+     *        the list.
+     * @param <T> the type of elements.
+     * @return {@code true} if every element is not greater than the next one.
+     */
+    public static <T extends Comparable<T>> boolean isSorted(List<T> list) {
+        boolean result = true;
+        final Iterator<T> iterator = list.iterator();
+        if (iterator.hasNext()) {
+            T previous = iterator.next();
+            while (result && iterator.hasNext()) {
+                final T current = iterator.next();
+                result = previous.compareTo(current) <= 0;
+                previous = current;
+            }
+        }
+        return result;
+    }
+
     /**
      * Creates difference between 2 non-empty iterators.
      *
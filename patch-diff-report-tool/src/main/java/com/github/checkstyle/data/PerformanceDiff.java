@@ -0,0 +1,119 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.data;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Contains difference between the base and patch profiles of Checkstyle runs,
+ * i.e. modules and files which became slower in the patch the most.
+ */
+public final class PerformanceDiff {
+
+    /**
+     * Maximal number of records displayed in every table of the report.
+     */
+    public static final int MAX_RECORDS = 20;
+
+    /**
+     * Total time of all modules.
+     */
+    private final PerformanceRecord total;
+
+    /**
+     * Modules with the biggest regressions.
+     */
+    private final List<PerformanceRecord> modules;
+
+    /**
+     * Files with the biggest regressions.
+     */
+    private final List<PerformanceRecord> files;
+
+    /**
+     * Creates the difference between two profiles.
+     *
+     * @param baseProfile
+     *        profile of the base run.
+     * @param patchProfile
+     *        profile of the patch run.
+     */
+    public PerformanceDiff(CheckstyleProfile baseProfile, CheckstyleProfile patchProfile) {
+        total = new PerformanceRecord("Total", baseProfile.getTotalTime(),
+                patchProfile.getTotalTime());
+        modules = getTopRegressions(baseProfile.getModuleTimes(), patchProfile.getModuleTimes());
+        files = getTopRegressions(baseProfile.getFileTimes(), patchProfile.getFileTimes());
+    }
+
+    /**
+     * Returns the total time of all modules.
+     *
+     * @return the total time of all modules
+     */
+    public PerformanceRecord getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the modules with the biggest regressions.
+     *
+     * @return the modules with the biggest regressions
+     */
+    public List<PerformanceRecord> getModules() {
+        return modules;
+    }
+
+    /**
+     * Returns the files with the biggest regressions.
+     *
+     * @return the files with the biggest regressions
+     */
+    public List<PerformanceRecord> getFiles() {
+        return files;
+    }
+
+    /**
+     * Compares times of both profiles and selects the biggest regressions.
+     *
+     * @param baseTimes
+     *        times of the base profile.
+     * @param patchTimes
+     *        times of the patch profile.
+     * @return records sorted from the biggest regression.
+     */
+    private static List<PerformanceRecord> getTopRegressions(Map<String, Long> baseTimes,
+            Map<String, Long> patchTimes) {
+        final Set<String> names = new HashSet<>(baseTimes.keySet());
+        names.addAll(patchTimes.keySet());
+        return names.stream()
+                .map(name -> new PerformanceRecord(name, baseTimes.getOrDefault(name, 0L),
+                        patchTimes.getOrDefault(name, 0L)))
+                .sorted(Comparator.comparingLong(PerformanceRecord::getDelta).reversed()
+                        .thenComparing(PerformanceRecord::getName))
+                .limit(MAX_RECORDS)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,169 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.data;
+
+import java.util.Locale;
+
+/**
+ * Contains time of a single module or file in the base and patch profiles.
+ */
+public final class PerformanceRecord {
+
+    /**
+     * Number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Percents in a whole.
+     */
+    private static final double PERCENTS = 100.0;
+
+    /**
+     * Name of the module or file.
+     */
+    private final String name;
+
+    /**
+     * Time in nanoseconds in the base profile.
+     */
+    private final long baseTime;
+
+    /**
+     * Time in nanoseconds in the patch profile.
+     */
+    private final long patchTime;
+
+    /**
+     * POJO ctor.
+     *
+     * @param name
+     *        name of the module or file.
+     * @param baseTime
+     *        time in nanoseconds in the base profile.
+     * @param patchTime
+     *        time in nanoseconds in the patch profile.
+     */
+    public PerformanceRecord(String name, long baseTime, long patchTime) {
+        this.name = name;
+        this.baseTime = baseTime;
+        this.patchTime = patchTime;
+    }
+
+    /**
+     * Returns the name of the module or file.
+     *
+     * @return the name of the module or file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the time in nanoseconds in the base profile.
+     *
+     * @return the time in nanoseconds in the base profile
+     */
+    public long getBaseTime() {
+        return baseTime;
+    }
+
+    /**
+     * Returns the time in nanoseconds in the patch profile.
+     *
+     * @return the time in nanoseconds in the patch profile
+     */
+    public long getPatchTime() {
+        return patchTime;
+    }
+
+    /**
+     * Returns the difference in nanoseconds between patch and base time.
+     *
+     * @return the difference in nanoseconds between patch and base time
+     */
+    public long getDelta() {
+        return patchTime - baseTime;
+    }
+
+    /**
+     * Returns the base time in milliseconds formatted for the report.
+     *
+     * @return the base time in milliseconds
+     */
+    public String getBaseMillis() {
+        return formatMillis(baseTime, false);
+    }
+
+    /**
+     * Returns the patch time in milliseconds formatted for the report.
+     *
+     * @return the patch time in milliseconds
+     */
+    public String getPatchMillis() {
+        return formatMillis(patchTime, false);
+    }
+
+    /**
+     * Returns the signed difference in milliseconds formatted for the report.
+     *
+     * @return the difference in milliseconds
+     */
+    public String getDeltaMillis() {
+        return formatMillis(getDelta(), true);
+    }
+
+    /**
+     * Returns the signed difference relative to the base time formatted for the report.
+     *
+     * @return the difference in percents, or "new" if the base time is zero
+     */
+    public String getDeltaPercent() {
+        final String result;
+        if (baseTime == 0) {
+            result = "new";
+        }
+        else {
+            result = String.format(Locale.ENGLISH, "%+.1f%%", getDelta() * PERCENTS / baseTime);
+        }
+        return result;
+    }
+
+    /**
+     * Formats time in nanoseconds as milliseconds.
+     *
+     * @param nanos
+     *        time in nanoseconds.
+     * @param signed
+     *        {@code true} if sign should always be printed.
+     * @return formatted time.
+     */
+    private static String formatMillis(long nanos, boolean signed) {
+        final String format;
+        if (signed) {
+            format = "%+.1f";
+        }
+        else {
+            format = "%.1f";
+        }
+        return String.format(Locale.ENGLISH, format, nanos / NANOS_PER_MILLI);
+    }
+
+}
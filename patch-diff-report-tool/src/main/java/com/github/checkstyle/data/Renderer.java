@@ -0,0 +1,40 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.data;
+
+/**
+ * Different renderers of violations in the site report.
+ */
+public enum Renderer {
+
+    /** Renderer which processes the content template by thymeleaf for every file. */
+    THYMELEAF,
+    /**
+     * Renderer which writes the same html as the content template directly, without
+     * template processing.
+     */
+    FAST,
+    /**
+     * Renderer which writes violations as gzip compressed JSON shards, which are loaded
+     * on demand by the viewer in the site.
+     */
+    JSON
+
+}
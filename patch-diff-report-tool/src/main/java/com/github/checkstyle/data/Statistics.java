@@ -101,6 +101,47 @@ public class Statistics {
      */
     private int uniqueMessagesPatch;
 
+    /**
+     * Map storing module numbers for records not shown in the report.
+     */
+    private Map<String, BigInteger> moduleNumElided = new HashMap<>();
+
+    /**
+     * Number of records not shown in the report.
+     */
+    private int elidedNum;
+
+    /**
+     * Creates empty statistics.
+     */
+    public Statistics() {
+        // statistics are accumulated during parsing stage
+    }
+
+    /**
+     * Creates copy of the statistics, which can be changed independently.
+     *
+     * @param other
+     *        the statistics to copy.
+     */
+    public Statistics(Statistics other) {
+        severityNumDiffRemoved = new HashMap<>(other.severityNumDiffRemoved);
+        severityNumDiffAdded = new HashMap<>(other.severityNumDiffAdded);
+        moduleNumDiffRemoved = new HashMap<>(other.moduleNumDiffRemoved);
+        moduleNumDiffAdded = new HashMap<>(other.moduleNumDiffAdded);
+        fileNumDiff = other.fileNumDiff;
+        severityNumBase = new HashMap<>(other.severityNumBase);
+        moduleNumBase = new HashMap<>(other.moduleNumBase);
+        fileNumBase = other.fileNumBase;
+        uniqueMessagesBase = other.uniqueMessagesBase;
+        severityNumPatch = new HashMap<>(other.severityNumPatch);
+        moduleNumPatch = new HashMap<>(other.moduleNumPatch);
+        fileNumPatch = other.fileNumPatch;
+        uniqueMessagesPatch = other.uniqueMessagesPatch;
+        moduleNumElided = new HashMap<>(other.moduleNumElided);
+        elidedNum = other.elidedNum;
+    }
+
     /**
      * Getter for number of records per severity for difference.
      *
@@ -246,16 +287,42 @@ public class Statistics {
     }
 
     /**
-     * Getter for total statistics of severity records for patch source.
+     * Returns the map storing severity numbers for patch source.
      *
-     * @return total statistics of severity records.
+     * @return the map storing severity numbers for patch source
      */
-    public final String getTotalStatisticsPatch() {
+    public final Map<String, BigInteger> getSeverityNumPatch() {
+        return severityNumPatch;
+    }
+
+    /**
+     * Returns the map storing module numbers for patch source.
+     *
+     * @return the map storing module numbers for patch source
+     */
+    public final Map<String, BigInteger> getModuleNumPatch() {
+        return moduleNumPatch;
+    }
+
+    /**
+     * Getter for total number of severity records for patch source.
+     *
+     * @return total number of severity records.
+     */
+    public final BigInteger getTotalNumPatch() {
         BigInteger totalSeverityNumber = BigInteger.ZERO;
         for (BigInteger number : severityNumPatch.values()) {
             totalSeverityNumber = totalSeverityNumber.add(number);
         }
+        return totalSeverityNumber;
+    }
 
+    /**
+     * Getter for total statistics of severity records for patch source.
+     *
+     * @return total statistics of severity records.
+     */
+    public final String getTotalStatisticsPatch() {
         final BigInteger removedNumber;
         if (uniqueMessagesBase > 0) {
             removedNumber = BigInteger.valueOf(uniqueMessagesBase);
@@ -272,7 +339,7 @@ public class Statistics {
             addedNumber = null;
         }
 
-        return buildStatisticsString(totalSeverityNumber, removedNumber, addedNumber);
+        return buildStatisticsString(getTotalNumPatch(), removedNumber, addedNumber);
     }
 
     /**
@@ -406,6 +473,34 @@ public class Statistics {
         moduleNumDiffAdded.merge(moduleName, BigInteger.ONE, BigInteger::add);
     }
 
+    /**
+     * Registers single record not shown in the report.
+     *
+     * @param moduleName value of module record.
+     */
+    public final void addModuleRecordElided(String moduleName) {
+        moduleNumElided.merge(moduleName, BigInteger.ONE, BigInteger::add);
+        elidedNum++;
+    }
+
+    /**
+     * Getter for module numbers for records not shown in the report.
+     *
+     * @return module numbers for records not shown in the report.
+     */
+    public final Map<String, BigInteger> getModuleNumElided() {
+        return moduleNumElided;
+    }
+
+    /**
+     * Getter for number of records not shown in the report.
+     *
+     * @return number of records not shown in the report.
+     */
+    public final int getElidedNum() {
+        return elidedNum;
+    }
+
     /**
      * Registers single file from numbered source.
      *
@@ -0,0 +1,134 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.parser;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import com.github.checkstyle.data.CheckstyleProfile;
+
+/**
+ * Contains logics of the StaX parser for the profiles of Checkstyle runs
+ * written by profile_checks.groovy of checkstyle-tester.
+ */
+public final class CheckstyleProfileParser {
+
+    /**
+     * String value for "module" tag.
+     */
+    private static final String MODULE_TAG = "module";
+
+    /**
+     * String value for "file" tag.
+     */
+    private static final String FILE_TAG = "file";
+
+    /**
+     * String value for "name" attribute.
+     */
+    private static final String NAME_ATTR = "name";
+
+    /**
+     * String value for "time" attribute.
+     */
+    private static final String TIME_ATTR = "time";
+
+    /**
+     * Private ctor, see parse method.
+     */
+    private CheckstyleProfileParser() {
+
+    }
+
+    /**
+     * Parses the profile XML file.
+     *
+     * @param profileXml
+     *        path to profile XML file.
+     * @return parsed profile.
+     * @throws FileNotFoundException
+     *         if file not found.
+     * @throws XMLStreamException
+     *         on internal parser error.
+     */
+    public static CheckstyleProfile parse(Path profileXml)
+            throws FileNotFoundException, XMLStreamException {
+        final CheckstyleProfile profile = new CheckstyleProfile();
+        final XMLEventReader reader = StaxUtils.createReader(profileXml);
+        try {
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    final StartElement startElement = event.asStartElement();
+                    final String startElementName = startElement.getName().getLocalPart();
+                    if (MODULE_TAG.equals(startElementName)
+                            || FILE_TAG.equals(startElementName)) {
+                        parseTimeTag(startElement, profile, MODULE_TAG.equals(startElementName));
+                    }
+                }
+            }
+        }
+        finally {
+            reader.close();
+        }
+        return profile;
+    }
+
+    /**
+     * Parses "module" or "file" XML tag and adds its time to the profile.
+     *
+     * @param startElement
+     *        cursor of StAX parser pointed on the tag.
+     * @param profile
+     *        container for parsed data.
+     * @param isModule
+     *        {@code true} if the tag is a "module" tag.
+     */
+    private static void parseTimeTag(StartElement startElement, CheckstyleProfile profile,
+            boolean isModule) {
+        String name = null;
+        long time = 0;
+        final Iterator<Attribute> attributes = startElement.getAttributes();
+        while (attributes.hasNext()) {
+            final Attribute attribute = attributes.next();
+            final String attrName = attribute.getName().toString();
+            if (NAME_ATTR.equals(attrName)) {
+                name = attribute.getValue();
+            }
+            else if (TIME_ATTR.equals(attrName)) {
+                time = Long.parseLong(attribute.getValue());
+            }
+        }
+        if (isModule) {
+            profile.addModuleTime(name, time);
+        }
+        else {
+            profile.addFileTime(name, time);
+        }
+    }
+
+}
@@ -0,0 +1,499 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.parser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Merges partial checkstyle xml reports, each sorted by file name, into a single report
+ * sorted by file name. Reports are read with StaX parsers, and only one "file" tag of every
+ * report is kept in memory at once. Identical "file" tags of different reports are written
+ * once, different tags of the same file are joined into one tag, so the merged report
+ * can be parsed by {@link CheckstyleReportsParser} as if it was generated by a single run.
+ * Reports which are not sorted are merged too, but their tags of the same file may stay
+ * apart. Order of attributes is the one given by the parser, it is not kept.
+ */
+public final class CheckstyleReportsMerger {
+
+    /**
+     * String value for "checkstyle" tag.
+     */
+    private static final String CHECKSTYLE_TAG = "checkstyle";
+
+    /**
+     * String value for "file" tag.
+     */
+    private static final String FILE_TAG = "file";
+
+    /**
+     * String value for "name" attribute.
+     */
+    private static final String FILENAME_ATTR = "name";
+
+    /**
+     * Line separator used in the merged report.
+     */
+    private static final String NEW_LINE = "\n";
+
+    /**
+     * Private ctor, see merge method.
+     */
+    private CheckstyleReportsMerger() {
+
+    }
+
+    /**
+     * Merges the reports into a single report.
+     *
+     * @param reports
+     *        paths to reports sorted by file name.
+     * @param mergedReport
+     *        path to the merged report.
+     * @throws IOException
+     *         on failure to read or write a report.
+     * @throws XMLStreamException
+     *         on internal parser error.
+     */
+    public static void merge(List<Path> reports, Path mergedReport)
+            throws IOException, XMLStreamException {
+        final List<ReportReader> readers = new ArrayList<>();
+        try (Writer writer = Files.newBufferedWriter(mergedReport, StandardCharsets.UTF_8)) {
+            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+            for (Path report : reports) {
+                readers.add(new ReportReader(inputFactory, report, readers.size()));
+            }
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            writer.write(NEW_LINE);
+            writer.write(readers.get(0).getRootTag());
+            writer.write(NEW_LINE);
+            mergeFileTags(readers, writer);
+            writeEndTag(writer, CHECKSTYLE_TAG);
+        }
+        finally {
+            for (ReportReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Writes "file" tags of all reports in the order of file names.
+     *
+     * @param readers
+     *        readers of all reports.
+     * @param writer
+     *        writer of the merged report.
+     * @throws IOException
+     *         on failure to write the merged report.
+     * @throws XMLStreamException
+     *         on internal parser error.
+     */
+    private static void mergeFileTags(List<ReportReader> readers, Writer writer)
+            throws IOException, XMLStreamException {
+        final PriorityQueue<ReportReader> queue = new PriorityQueue<>(
+                Comparator.comparing(ReportReader::getFilename)
+                        .thenComparingInt(ReportReader::getIndex));
+        for (ReportReader reader : readers) {
+            if (reader.nextFileTag()) {
+                queue.add(reader);
+            }
+        }
+        String filename = null;
+        final Set<String> writtenContents = new HashSet<>();
+        while (!queue.isEmpty()) {
+            final ReportReader reader = queue.poll();
+            if (!reader.getFilename().equals(filename)) {
+                if (filename != null) {
+                    writeEndTag(writer, FILE_TAG);
+                }
+                filename = reader.getFilename();
+                writtenContents.clear();
+                writer.write(reader.getFileStartTag());
+                writer.write(NEW_LINE);
+            }
+            // identical tags of different reports are written only once
+            if (writtenContents.add(reader.getFileContent())) {
+                writer.write(reader.getFileContent());
+            }
+            if (reader.nextFileTag()) {
+                queue.add(reader);
+            }
+        }
+        if (filename != null) {
+            writeEndTag(writer, FILE_TAG);
+        }
+    }
+
+    /**
+     * Writes the end tag on its own line.
+     *
+     * @param writer
+     *        writer of the merged report.
+     * @param name
+     *        name of the tag.
+     * @throws IOException
+     *         on failure to write the merged report.
+     */
+    private static void writeEndTag(Writer writer, String name) throws IOException {
+        writer.write(toEndTag(name));
+        writer.write(NEW_LINE);
+    }
+
+    /**
+     * Serializes the end tag.
+     *
+     * @param name
+     *        name of the tag.
+     * @return text of the end tag.
+     */
+    private static String toEndTag(String name) {
+        return "</" + name + '>';
+    }
+
+    /**
+     * Serializes the start tag.
+     *
+     * @param startElement
+     *        start tag.
+     * @return text of the start tag.
+     */
+    private static String toText(StartElement startElement) {
+        final StringBuilder text = new StringBuilder(64);
+        text.append('<').append(startElement.getName().getLocalPart());
+        final Iterator<Attribute> attributes = startElement.getAttributes();
+        while (attributes.hasNext()) {
+            final Attribute attribute = attributes.next();
+            text.append(' ').append(attribute.getName().getLocalPart()).append("=\"")
+                    .append(escape(attribute.getValue(), true)).append('"');
+        }
+        return text.append('>').toString();
+    }
+
+    /**
+     * Escapes special characters of XML text.
+     *
+     * @param value
+     *        text to escape.
+     * @param isAttribute
+     *        {@code true} if the text is an attribute value.
+     * @return escaped text.
+     */
+    private static String escape(String value, boolean isAttribute) {
+        final StringBuilder text = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            switch (character) {
+                case '<' -> text.append("&lt;");
+                case '>' -> text.append("&gt;");
+                case '&' -> text.append("&amp;");
+                case '"' -> text.append("&quot;");
+                case '\n' -> appendCharacter(text, isAttribute, "&#10;", character);
+                case '\r' -> appendCharacter(text, isAttribute, "&#13;", character);
+                case '\t' -> appendCharacter(text, isAttribute, "&#9;", character);
+                default -> text.append(character);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends whitespace character, which is kept in attribute values only as a reference.
+     *
+     * @param text
+     *        text to append to.
+     * @param isAttribute
+     *        {@code true} if the text is an attribute value.
+     * @param reference
+     *        character reference.
+     * @param character
+     *        the character itself.
+     */
+    private static void appendCharacter(StringBuilder text, boolean isAttribute,
+            String reference, char character) {
+        if (isAttribute) {
+            text.append(reference);
+        }
+        else {
+            text.append(character);
+        }
+    }
+
+    /**
+     * Reader of a single report, which gives its "file" tags one by one.
+     */
+    private static final class ReportReader {
+
+        /**
+         * Input stream of the report.
+         */
+        private final InputStream inputStream;
+
+        /**
+         * StaX parser of the report.
+         */
+        private final XMLEventReader reader;
+
+        /**
+         * Index of the report, keeps order of tags of the same file.
+         */
+        private final int index;
+
+        /**
+         * Text of the root tag.
+         */
+        private String rootTag;
+
+        /**
+         * Name of the file of the current "file" tag.
+         */
+        private String filename;
+
+        /**
+         * Text of the current "file" start tag.
+         */
+        private String fileStartTag;
+
+        /**
+         * Text of the children of the current "file" tag.
+         */
+        private String fileContent;
+
+        /**
+         * Opens the report and reads its root tag.
+         *
+         * @param inputFactory
+         *        factory of StaX parsers.
+         * @param report
+         *        path to the report.
+         * @param index
+         *        index of the report.
+         * @throws IOException
+         *         on failure to open the report.
+         * @throws XMLStreamException
+         *         on internal parser error.
+         */
+        /* package */ ReportReader(XMLInputFactory inputFactory, Path report, int index)
+                throws IOException, XMLStreamException {
+            inputStream = Files.newInputStream(report);
+            reader = inputFactory.createXMLEventReader(inputStream);
+            this.index = index;
+            while (rootTag == null && reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()
+                        && CHECKSTYLE_TAG.equals(event.asStartElement().getName().getLocalPart())) {
+                    rootTag = toText(event.asStartElement());
+                }
+            }
+            if (rootTag == null) {
+                rootTag = "<" + CHECKSTYLE_TAG + ">";
+            }
+        }
+
+        /**
+         * Returns the text of the root tag.
+         *
+         * @return the text of the root tag
+         */
+        public String getRootTag() {
+            return rootTag;
+        }
+
+        /**
+         * Returns the index of the report.
+         *
+         * @return the index of the report
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the name of the file of the current "file" tag.
+         *
+         * @return the name of the file
+         */
+        public String getFilename() {
+            return filename;
+        }
+
+        /**
+         * Returns the text of the current "file" start tag.
+         *
+         * @return the text of the start tag
+         */
+        public String getFileStartTag() {
+            return fileStartTag;
+        }
+
+        /**
+         * Returns the text of the children of the current "file" tag.
+         *
+         * @return the text of the children
+         */
+        public String getFileContent() {
+            return fileContent;
+        }
+
+        /**
+         * Reads the next "file" tag of the report.
+         *
+         * @return {@code true} if there is one more "file" tag.
+         * @throws XMLStreamException
+         *         on internal parser error.
+         */
+        public boolean nextFileTag() throws XMLStreamException {
+            filename = null;
+            while (filename == null && reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()
+                        && FILE_TAG.equals(event.asStartElement().getName().getLocalPart())) {
+                    final StartElement startElement = event.asStartElement();
+                    filename = getFilenameAttribute(startElement);
+                    fileStartTag = toText(startElement);
+                    fileContent = readFileContent();
+                }
+            }
+            return filename != null;
+        }
+
+        /**
+         * Returns the value of "name" attribute of the "file" tag.
+         *
+         * @param startElement
+         *        "file" start tag.
+         * @return the name of the file, empty if there is no such attribute.
+         */
+        private static String getFilenameAttribute(StartElement startElement) {
+            String result = "";
+            final Iterator<Attribute> attributes = startElement.getAttributes();
+            while (attributes.hasNext()) {
+                final Attribute attribute = attributes.next();
+                if (FILENAME_ATTR.equals(attribute.getName().getLocalPart())) {
+                    result = attribute.getValue();
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Reads the children of the current "file" tag up to its end tag.
+         *
+         * @return text of the children.
+         * @throws XMLStreamException
+         *         on internal parser error.
+         */
+        private String readFileContent() throws XMLStreamException {
+            final StringBuilder content = new StringBuilder(256);
+            // start tag is held until it is known whether the element is empty
+            String pendingStartTag = null;
+            int depth = 0;
+            while (depth >= 0) {
+                final XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    appendStartTag(content, pendingStartTag, false);
+                    pendingStartTag = toText(event.asStartElement());
+                    depth++;
+                }
+                else if (event.isEndElement()) {
+                    depth--;
+                    if (pendingStartTag != null) {
+                        appendStartTag(content, pendingStartTag, true);
+                        pendingStartTag = null;
+                    }
+                    else if (depth >= 0) {
+                        content.append(toEndTag(event.asEndElement().getName().getLocalPart()))
+                                .append(NEW_LINE);
+                    }
+                }
+                else if (event.isCharacters() && !event.asCharacters().isWhiteSpace()) {
+                    appendStartTag(content, pendingStartTag, false);
+                    pendingStartTag = null;
+                    final Characters characters = event.asCharacters();
+                    if (characters.isCData()) {
+                        content.append("<![CDATA[").append(characters.getData()).append("]]>");
+                    }
+                    else {
+                        content.append(escape(characters.getData(), false));
+                    }
+                }
+            }
+            return content.toString();
+        }
+
+        /**
+         * Appends the held start tag, if any.
+         *
+         * @param content
+         *        text to append to.
+         * @param startTag
+         *        text of the start tag, may be null.
+         * @param isEmpty
+         *        {@code true} if the element has no children.
+         */
+        private static void appendStartTag(StringBuilder content, String startTag,
+                boolean isEmpty) {
+            if (startTag != null) {
+                if (isEmpty) {
+                    content.append(startTag, 0, startTag.length() - 1).append("/>")
+                            .append(NEW_LINE);
+                }
+                else {
+                    content.append(startTag);
+                }
+            }
+        }
+
+        /**
+         * Closes the report.
+         *
+         * @throws IOException
+         *         on failure to close the report.
+         * @throws XMLStreamException
+         *         on internal parser error.
+         */
+        public void close() throws IOException, XMLStreamException {
+            reader.close();
+            inputStream.close();
+        }
+
+    }
+
+}
@@ -20,10 +20,14 @@
 package com.github.checkstyle.parser;
 
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamException;
@@ -111,6 +115,8 @@ public final class CheckstyleReportsParser {
      * which process their XML files in rotation and try
      * to write their results to the ParsedContent class
      * inner map, where they are eagerly compared.
+     * Violations of a file are kept as raw attribute values until the file is found in the
+     * other report, records are created only when the files differ.
      *
      * @param baseXml
      *        path to base XML file.
@@ -127,21 +133,85 @@ public final class CheckstyleReportsParser {
     public static DiffReport parse(Path baseXml, Path patchXml, int portionSize)
                     throws FileNotFoundException, XMLStreamException {
         final DiffReport content = new DiffReport();
+        final Map<String, FileErrors> pendingFiles = new HashMap<>();
         final XMLEventReader baseReader = StaxUtils.createReader(baseXml);
         final XMLEventReader patchReader = StaxUtils.createReader(patchXml);
         while (baseReader.hasNext() || patchReader.hasNext()) {
-            parseXmlPortion(content, baseReader, portionSize, BASE_REPORT_INDEX);
-            parseXmlPortion(content, patchReader, portionSize, PATCH_REPORT_INDEX);
+            parseXmlPortion(content, pendingFiles, baseReader, portionSize, BASE_REPORT_INDEX);
+            parseXmlPortion(content, pendingFiles, patchReader, portionSize, PATCH_REPORT_INDEX);
         }
+        addPendingFiles(content, pendingFiles);
         content.getDiffStatistics();
         return content;
     }
 
+    /**
+     * Parses the base XML file only. The result keeps all base records and is used
+     * to find differences with many patch reports by {@link #parsePatch}.
+     *
+     * @param baseXml
+     *        path to base XML file.
+     * @return parsed base records without difference statistics.
+     * @throws FileNotFoundException
+     *         if file not found.
+     * @throws XMLStreamException
+     *         on internal parser error.
+     */
+    public static DiffReport parseBase(Path baseXml)
+                    throws FileNotFoundException, XMLStreamException {
+        final DiffReport content = new DiffReport();
+        final Map<String, FileErrors> pendingFiles = new HashMap<>();
+        parseXmlPortion(content, pendingFiles, StaxUtils.createReader(baseXml),
+                Integer.MAX_VALUE, BASE_REPORT_INDEX);
+        addPendingFiles(content, pendingFiles);
+        return content;
+    }
+
+    /**
+     * Parses the patch XML report and finds its difference with the parsed base report,
+     * which is not changed.
+     *
+     * @param baseReport
+     *        base records parsed by {@link #parseBase}.
+     * @param patchXml
+     *        stream of the patch XML report.
+     * @return parsed content.
+     * @throws XMLStreamException
+     *         on internal parser error.
+     */
+    public static DiffReport parsePatch(DiffReport baseReport, InputStream patchXml)
+                    throws XMLStreamException {
+        final DiffReport content = new DiffReport(baseReport);
+        final Map<String, FileErrors> pendingFiles = new HashMap<>();
+        parseXmlPortion(content, pendingFiles, StaxUtils.createReader(patchXml),
+                Integer.MAX_VALUE, PATCH_REPORT_INDEX);
+        addPendingFiles(content, pendingFiles);
+        content.getDiffStatistics();
+        return content;
+    }
+
+    /**
+     * Adds records of files, which are found in one report only, to the diff report.
+     *
+     * @param diffReport
+     *        container for parsed data.
+     * @param pendingFiles
+     *        violations of files, which are not found in the other report.
+     */
+    private static void addPendingFiles(DiffReport diffReport,
+            Map<String, FileErrors> pendingFiles) {
+        for (FileErrors fileErrors : pendingFiles.values()) {
+            diffReport.addRecords(fileErrors.createRecords(), fileErrors.getFilename());
+        }
+    }
+
     /**
      * Parses portion of the XML report.
      *
      * @param diffReport
      *        container for parsed data.
+     * @param pendingFiles
+     *        violations of files, which are not found in the other report yet.
      * @param reader
      *        StAX parser interface.
      * @param numOfFilenames
@@ -152,11 +222,10 @@ public final class CheckstyleReportsParser {
      *         on internal parser error.
      */
     private static void parseXmlPortion(DiffReport diffReport,
-            XMLEventReader reader, int numOfFilenames, int index)
-                    throws XMLStreamException {
+            Map<String, FileErrors> pendingFiles, XMLEventReader reader, int numOfFilenames,
+            int index) throws XMLStreamException {
         int counter = numOfFilenames;
-        String filename = null;
-        List<CheckstyleRecord> records = null;
+        FileErrors fileErrors = null;
         while (reader.hasNext()) {
             final XMLEvent event = reader.nextEvent();
             if (event.isStartElement()) {
@@ -167,6 +236,7 @@ public final class CheckstyleReportsParser {
                 if (startElementName.equals(FILE_TAG)) {
                     counter--;
                     diffReport.getStatistics().incrementFileCount(index);
+                    String filename = null;
                     final Iterator<Attribute> attributes = startElement
                             .getAttributes();
                     while (attributes.hasNext()) {
@@ -176,18 +246,17 @@ public final class CheckstyleReportsParser {
                             filename = attribute.getValue();
                         }
                     }
-                    records = new ArrayList<>();
+                    fileErrors = new FileErrors(index, filename);
                 }
                 // error tag encounter
                 else if (startElementName.equals(ERROR_TAG)) {
-                    records.add(parseErrorTag(startElement, diffReport.getStatistics(), index,
-                            filename));
+                    parseErrorTag(startElement, diffReport.getStatistics(), fileErrors);
                 }
             }
             if (event.isEndElement()) {
                 final EndElement endElement = event.asEndElement();
                 if (endElement.getName().getLocalPart().equals(FILE_TAG)) {
-                    diffReport.addRecords(records, filename);
+                    addFileErrors(diffReport, pendingFiles, fileErrors);
                     if (counter == 0) {
                         break;
                     }
@@ -196,6 +265,40 @@ public final class CheckstyleReportsParser {
         }
     }
 
+    /**
+     * Adds violations of a file to the diff report. When the same file with the same
+     * violations is pending from the other report, both are dropped without creation of
+     * records. Otherwise, if the file is not in the diff report yet, its violations become
+     * pending till the other report reaches the file.
+     *
+     * @param diffReport
+     *        container for parsed data.
+     * @param pendingFiles
+     *        violations of files, which are not found in the other report yet.
+     * @param fileErrors
+     *        violations of the file.
+     */
+    private static void addFileErrors(DiffReport diffReport,
+            Map<String, FileErrors> pendingFiles, FileErrors fileErrors) {
+        if (!fileErrors.isEmpty()) {
+            final String filename = fileErrors.getFilename();
+            final FileErrors pending = pendingFiles.remove(filename);
+            if (pending != null) {
+                if (pending.getIndex() == fileErrors.getIndex()
+                        || !pending.isSameAs(fileErrors)) {
+                    diffReport.addRecords(pending.createRecords(), filename);
+                    diffReport.addRecords(fileErrors.createRecords(), filename);
+                }
+            }
+            else if (diffReport.getRecords().containsKey(filename)) {
+                diffReport.addRecords(fileErrors.createRecords(), filename);
+            }
+            else {
+                pendingFiles.put(filename, fileErrors);
+            }
+        }
+    }
+
     /**
      * Parses "error" XML tag.
      *
@@ -203,16 +306,13 @@ public final class CheckstyleReportsParser {
      *        cursor of StAX parser pointed on the tag.
      * @param statistics
      *        container accumulating statistics.
-     * @param index
-     *        internal index of the parsed file.
-     * @param filename
-     *        file name.
-     * @return parsed data as CheckstyleRecord instance.
-     */
-    private static CheckstyleRecord parseErrorTag(StartElement startElement,
-            Statistics statistics, int index, String filename) {
-        int line = -1;
-        int column = -1;
+     * @param fileErrors
+     *        violations of the file, the parsed violation is added to.
+     */
+    private static void parseErrorTag(StartElement startElement,
+            Statistics statistics, FileErrors fileErrors) {
+        String line = null;
+        String column = null;
         String source = null;
         String message = null;
         String severity = null;
@@ -222,24 +322,208 @@ public final class CheckstyleReportsParser {
             final Attribute attribute = attributes.next();
             final String attrName = attribute.getName().toString();
             switch (attrName) {
-                case LINE_ATTR -> line = Integer.parseInt(attribute.getValue());
-                case COLUMN_ATTR -> column = Integer.parseInt(attribute.getValue());
+                case LINE_ATTR -> line = attribute.getValue();
+                case COLUMN_ATTR -> column = attribute.getValue();
                 case SEVERITY_ATTR -> {
                     severity = attribute.getValue();
-                    statistics.addSeverityRecord(severity, index);
+                    statistics.addSeverityRecord(severity, fileErrors.getIndex());
                 }
                 case MESSAGE_ATTR -> message = attribute.getValue();
                 case SOURCE_ATTR -> {
                     source = attribute.getValue();
-                    statistics.addModuleRecord(source, index);
+                    statistics.addModuleRecord(source, fileErrors.getIndex());
                 }
                 default -> {
                     // Ignore other attributes
                 }
             }
         }
-        return new CheckstyleRecord(index,
-                line, column, severity, source, message, filename);
+        fileErrors.addError(line, column, severity, message, source);
+    }
+
+    /**
+     * Raw attribute values of violations of a single "file" tag with their rolling hash.
+     */
+    private static final class FileErrors {
+
+        /**
+         * Offset of the line among values of a violation.
+         */
+        private static final int LINE_OFFSET = 0;
+
+        /**
+         * Offset of the column among values of a violation.
+         */
+        private static final int COLUMN_OFFSET = 1;
+
+        /**
+         * Offset of the severity among values of a violation.
+         */
+        private static final int SEVERITY_OFFSET = 2;
+
+        /**
+         * Offset of the message among values of a violation.
+         */
+        private static final int MESSAGE_OFFSET = 3;
+
+        /**
+         * Offset of the source among values of a violation.
+         */
+        private static final int SOURCE_OFFSET = 4;
+
+        /**
+         * Number of attribute values kept for a violation.
+         */
+        private static final int VALUES_PER_ERROR = SOURCE_OFFSET + 1;
+
+        /**
+         * Multiplier of the rolling hash.
+         */
+        private static final int HASH_MULTIPLIER = 31;
+
+        /**
+         * Internal index of the parsed file.
+         */
+        private final int index;
+
+        /**
+         * File name.
+         */
+        private final String filename;
+
+        /**
+         * Line, column, severity, message and source of every violation in order of the report.
+         */
+        private final List<String> values = new ArrayList<>();
+
+        /**
+         * Rolling hash of the values.
+         */
+        private long hash;
+
+        /**
+         * Creates violations of a file.
+         *
+         * @param index
+         *        internal index of the parsed file.
+         * @param filename
+         *        file name.
+         */
+        private FileErrors(int index, String filename) {
+            this.index = index;
+            this.filename = filename;
+        }
+
+        /**
+         * Getter for the internal index of the parsed file.
+         *
+         * @return internal index of the parsed file.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Getter for the file name.
+         *
+         * @return file name.
+         */
+        public String getFilename() {
+            return filename;
+        }
+
+        /**
+         * Checks if the file has no violations.
+         *
+         * @return {@code true} if the file has no violations.
+         */
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        /**
+         * Adds raw attribute values of a violation, values of absent attributes are null.
+         *
+         * @param line
+         *        line of the violation.
+         * @param column
+         *        column of the violation.
+         * @param severity
+         *        severity of the violation.
+         * @param message
+         *        message of the violation.
+         * @param source
+         *        source of the violation.
+         */
+        public void addError(String line, String column, String severity, String message,
+                String source) {
+            // order of values is defined by their offsets
+            addValue(line);
+            addValue(column);
+            addValue(severity);
+            addValue(message);
+            addValue(source);
+        }
+
+        /**
+         * Checks if violations of other file are the same and in the same order.
+         * Values are compared only when hashes are equal.
+         *
+         * @param other
+         *        violations of other file.
+         * @return {@code true} if violations are the same.
+         */
+        public boolean isSameAs(FileErrors other) {
+            return hash == other.hash && values.equals(other.values);
+        }
+
+        /**
+         * Creates records of the violations.
+         *
+         * @return records of the violations.
+         */
+        public List<CheckstyleRecord> createRecords() {
+            final List<CheckstyleRecord> records =
+                    new ArrayList<>(values.size() / VALUES_PER_ERROR);
+            for (int position = 0; position < values.size(); position += VALUES_PER_ERROR) {
+                records.add(new CheckstyleRecord(index,
+                        parseNumber(values.get(position + LINE_OFFSET)),
+                        parseNumber(values.get(position + COLUMN_OFFSET)),
+                        values.get(position + SEVERITY_OFFSET),
+                        values.get(position + SOURCE_OFFSET),
+                        values.get(position + MESSAGE_OFFSET), filename));
+            }
+            return records;
+        }
+
+        /**
+         * Adds a value and updates the rolling hash.
+         *
+         * @param value
+         *        the value.
+         */
+        private void addValue(String value) {
+            values.add(value);
+            hash = hash * HASH_MULTIPLIER + Objects.hashCode(value);
+        }
+
+        /**
+         * Parses line or column of a violation.
+         *
+         * @param value
+         *        raw value of the attribute, may be null.
+         * @return parsed value, or -1 if the attribute is absent.
+         */
+        private static int parseNumber(String value) {
+            final int result;
+            if (value == null) {
+                result = -1;
+            }
+            else {
+                result = Integer.parseInt(value);
+            }
+            return result;
+        }
 
     }
 
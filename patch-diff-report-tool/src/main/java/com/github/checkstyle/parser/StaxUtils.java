@@ -62,14 +62,26 @@ final class StaxUtils {
             result = new EmptyXmlEventReader();
         }
         else {
-            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-            // Setup a new eventReader
-            final InputStream inputStream =
-                new FileInputStream(xmlFilename.toFile());
-            result = inputFactory.createXMLEventReader(inputStream);
+            result = createReader(new FileInputStream(xmlFilename.toFile()));
         }
 
         return result;
     }
 
+    /**
+     * Creates parser of the XML stream.
+     *
+     * @param inputStream
+     *        stream of an XML report.
+     * @return StAX parser interface.
+     * @throws XMLStreamException
+     *         on internal factory failure.
+     */
+    public static XMLEventReader createReader(InputStream inputStream)
+            throws XMLStreamException {
+        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        // Setup a new eventReader
+        return inputFactory.createXMLEventReader(inputStream);
+    }
+
 }
@@ -0,0 +1,216 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.github.checkstyle.JsonUtils;
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.DiffReport;
+import com.github.checkstyle.data.Statistics;
+import com.github.checkstyle.parser.CheckstyleReportsParser;
+
+/**
+ * Writes the difference as JSON Lines, a compact JSON object per line, which is read by
+ * tools line by line without parsing of the whole file.
+ *
+ * <p>The first line contains statistics, which are described in
+ * {@link #appendStatistics(StringBuilder, Statistics)}:
+ * {@code {"type":"statistics","statistics":{...}}}. Every next line contains a violation
+ * of the difference, change is "removed" for violations of the base report only and "added"
+ * for violations of the patch report only, column is -1 if it is absent in the report:
+ * {@code {"type":"record","file":"A.java","change":"added","severity":"warning",
+ * "source":"full.Name","line":5,"column":1,"message":"Message."}}.</p>
+ */
+public final class JsonLinesWriter {
+
+    /**
+     * Name of the written file.
+     */
+    public static final String FILENAME = "diff.jsonl";
+
+    /**
+     * End of a JSON object on its own line.
+     */
+    private static final String LINE_END = "}\n";
+
+    /**
+     * Private ctor.
+     */
+    private JsonLinesWriter() {
+
+    }
+
+    /**
+     * Writes the difference to the file.
+     *
+     * @param diffReport
+     *        difference between two checkstyle reports.
+     * @param outputFile
+     *        path to the written file.
+     * @throws IOException
+     *         on failure to write the file.
+     */
+    public static void write(DiffReport diffReport, Path outputFile) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            final StringBuilder line = new StringBuilder(256);
+            line.append("{\"type\":\"statistics\",\"statistics\":");
+            appendStatistics(line, diffReport.getStatistics());
+            line.append(LINE_END);
+            writer.append(line);
+            for (Map.Entry<String, List<CheckstyleRecord>> entry
+                    : diffReport.getRecords().entrySet()) {
+                for (CheckstyleRecord checkstyleRecord : entry.getValue()) {
+                    line.setLength(0);
+                    line.append("{\"type\":\"record\",\"file\":");
+                    JsonUtils.appendString(line, entry.getKey());
+                    line.append(",\"change\":");
+                    JsonUtils.appendString(line, getChange(checkstyleRecord));
+                    line.append(",\"severity\":");
+                    JsonUtils.appendString(line, checkstyleRecord.getSeverity());
+                    line.append(",\"source\":");
+                    JsonUtils.appendString(line, checkstyleRecord.getSource());
+                    line.append(",\"line\":").append(checkstyleRecord.getLine())
+                        .append(",\"column\":").append(checkstyleRecord.getColumn())
+                        .append(",\"message\":");
+                    JsonUtils.appendString(line, checkstyleRecord.getMessage());
+                    line.append(LINE_END);
+                    writer.append(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the change of the violation in the difference.
+     *
+     * @param checkstyleRecord
+     *        the violation.
+     * @return "removed" or "added".
+     */
+    static String getChange(CheckstyleRecord checkstyleRecord) {
+        final String change;
+        if (checkstyleRecord.getIndex() == CheckstyleReportsParser.BASE_REPORT_INDEX) {
+            change = "removed";
+        }
+        else {
+            change = "added";
+        }
+        return change;
+    }
+
+    /**
+     * Appends statistics as JSON object with numbers of files, numbers of violations and
+     * numbers of violations by severity and by module (full source name): in the base report,
+     * in the patch report and in the difference. Limits of records apply to the site only,
+     * so the difference is written in full:
+     * {@code {"files":{"base":2,"patch":2,"diff":1},"records":{"base":3,"patch":4,"diff":3,
+     * "removed":1,"added":2},"severities":{"warning":{"base":3,"patch":4,
+     * "diff":3}},"modules":{"full.Name":{"base":3,"patch":4,"diff":3}}}}.
+     *
+     * @param builder
+     *        the JSON.
+     * @param statistics
+     *        the statistics.
+     */
+    static void appendStatistics(StringBuilder builder, Statistics statistics) {
+        builder.append("{\"files\":");
+        appendNumbers(builder, statistics.getFileNumBase(), statistics.getFileNumPatch(),
+                statistics.getFileNumDiff());
+        builder.append("},\"records\":");
+        appendNumbers(builder, statistics.getTotalNumBase(), statistics.getTotalNumPatch(),
+                statistics.getTotalNumDiff());
+        builder.append(",\"removed\":").append(statistics.getUniqueMessagesBase())
+            .append(",\"added\":").append(statistics.getUniqueMessagesPatch())
+            .append("},\"severities\":{");
+        final Map<String, BigInteger> severityNumDiff = statistics.getSeverityNumDiff();
+        boolean first = true;
+        for (String severity : new TreeSet<>(statistics.getSeverityNames())) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            JsonUtils.appendString(builder, severity);
+            builder.append(':');
+            appendNumbers(builder, getNumber(statistics.getSeverityNumBase(), severity),
+                    getNumber(statistics.getSeverityNumPatch(), severity),
+                    getNumber(severityNumDiff, severity));
+            builder.append('}');
+        }
+        builder.append("},\"modules\":{");
+        final Map<String, BigInteger> moduleNumDiff = statistics.getModuleNumDiff();
+        first = true;
+        for (String module : new TreeSet<>(statistics.getModuleNames())) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            JsonUtils.appendString(builder, module);
+            builder.append(':');
+            appendNumbers(builder, getNumber(statistics.getModuleNumBase(), module),
+                    getNumber(statistics.getModuleNumPatch(), module),
+                    getNumber(moduleNumDiff, module));
+            builder.append('}');
+        }
+        builder.append("}}");
+    }
+
+    /**
+     * Appends start of JSON object with numbers in the base report, in the patch report and
+     * in the difference, the object is left open for more numbers.
+     *
+     * @param builder
+     *        the JSON.
+     * @param base
+     *        number in the base report.
+     * @param patch
+     *        number in the patch report.
+     * @param diff
+     *        number in the difference.
+     */
+    private static void appendNumbers(StringBuilder builder, Number base, Number patch,
+            Number diff) {
+        builder.append("{\"base\":").append(base)
+            .append(",\"patch\":").append(patch)
+            .append(",\"diff\":").append(diff);
+    }
+
+    /**
+     * Returns number from the statistics map.
+     *
+     * @param numbers
+     *        numbers by name.
+     * @param name
+     *        the name.
+     * @return the number, or zero if the name is absent.
+     */
+    private static BigInteger getNumber(Map<String, BigInteger> numbers, String name) {
+        return numbers.getOrDefault(name, BigInteger.ZERO);
+    }
+
+}
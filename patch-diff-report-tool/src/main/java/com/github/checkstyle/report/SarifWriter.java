@@ -0,0 +1,305 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.checkstyle.JsonUtils;
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.DiffReport;
+
+/**
+ * Writes the difference as SARIF 2.1.0 log with a single run. Every violation of the
+ * difference is a result with baseline state "absent" if it is in the base report only and
+ * "new" if it is in the patch report only, rules are full source names of modules. Statistics
+ * of the difference are written to properties of the run in the same format as in
+ * {@link JsonLinesWriter}.
+ *
+ * <p>Files are referenced relative to the source files with base id "SRCROOT", if path to
+ * them is given and contains the file.</p>
+ */
+public final class SarifWriter {
+
+    /**
+     * Name of the written file.
+     */
+    public static final String FILENAME = "diff.sarif";
+
+    /**
+     * Schema of the log.
+     */
+    private static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    /**
+     * Name of the tool.
+     */
+    private static final String TOOL_NAME = "patch-diff-report-tool";
+
+    /**
+     * Information URI of the tool.
+     */
+    private static final String TOOL_URI =
+            "https://github.com/checkstyle/contribution/tree/master/patch-diff-report-tool";
+
+    /**
+     * Base id of files relative to the source files.
+     */
+    private static final String SOURCE_ROOT = "SRCROOT";
+
+    /**
+     * Error level, which has the same name in checkstyle and SARIF.
+     */
+    private static final String LEVEL_ERROR = "error";
+
+    /**
+     * Initial capacity of JSON of an artifact location.
+     */
+    private static final int LOCATION_CAPACITY = 128;
+
+    /**
+     * Private ctor.
+     */
+    private SarifWriter() {
+
+    }
+
+    /**
+     * Writes the difference to the file.
+     *
+     * @param diffReport
+     *        difference between two checkstyle reports.
+     * @param refFilesPath
+     *        path to the source files, may be null.
+     * @param outputFile
+     *        path to the written file.
+     * @throws IOException
+     *         on failure to write the file.
+     */
+    public static void write(DiffReport diffReport, Path refFilesPath, Path outputFile)
+            throws IOException {
+        final Map<String, CheckstyleRecord> rules = new TreeMap<>();
+        for (List<CheckstyleRecord> records : diffReport.getRecords().values()) {
+            for (CheckstyleRecord checkstyleRecord : records) {
+                rules.putIfAbsent(checkstyleRecord.getSource(), checkstyleRecord);
+            }
+        }
+        final Map<String, Integer> ruleIndexes = new HashMap<>();
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            final StringBuilder json = new StringBuilder(256);
+            json.append("{\"$schema\":");
+            JsonUtils.appendString(json, SCHEMA);
+            json.append(",\"version\":\"2.1.0\",\"runs\":[{\"tool\":{\"driver\":{\"name\":");
+            JsonUtils.appendString(json, TOOL_NAME);
+            json.append(",\"informationUri\":");
+            JsonUtils.appendString(json, TOOL_URI);
+            json.append(",\"rules\":[");
+            for (CheckstyleRecord checkstyleRecord : rules.values()) {
+                if (!ruleIndexes.isEmpty()) {
+                    json.append(',');
+                }
+                ruleIndexes.put(checkstyleRecord.getSource(), ruleIndexes.size());
+                json.append("{\"id\":");
+                JsonUtils.appendString(json, checkstyleRecord.getSource());
+                json.append(",\"name\":");
+                JsonUtils.appendString(json, checkstyleRecord.getSimpleCuttedSourceName());
+                json.append('}');
+            }
+            json.append("]}}");
+            if (refFilesPath != null) {
+                json.append(",\"originalUriBaseIds\":{");
+                JsonUtils.appendString(json, SOURCE_ROOT);
+                json.append(":{\"uri\":");
+                JsonUtils.appendString(json, refFilesPath.toAbsolutePath().toUri().toString());
+                json.append("}}");
+            }
+            json.append(",\"results\":[");
+            writer.append(json);
+
+            boolean first = true;
+            for (Map.Entry<String, List<CheckstyleRecord>> entry
+                    : diffReport.getRecords().entrySet()) {
+                final String location = getArtifactLocation(entry.getKey(), refFilesPath);
+                for (CheckstyleRecord checkstyleRecord : entry.getValue()) {
+                    json.setLength(0);
+                    if (!first) {
+                        json.append(',');
+                    }
+                    first = false;
+                    appendResult(json, checkstyleRecord, location,
+                            ruleIndexes.get(checkstyleRecord.getSource()));
+                    writer.append(json);
+                }
+            }
+
+            json.setLength(0);
+            json.append("],\"properties\":{\"statistics\":");
+            JsonLinesWriter.appendStatistics(json, diffReport.getStatistics());
+            json.append("}}]}\n");
+            writer.append(json);
+        }
+    }
+
+    /**
+     * Appends a result of the violation.
+     *
+     * @param json
+     *        the JSON.
+     * @param checkstyleRecord
+     *        the violation.
+     * @param location
+     *        JSON of the artifact location of its file.
+     * @param ruleIndex
+     *        index of its rule.
+     */
+    private static void appendResult(StringBuilder json, CheckstyleRecord checkstyleRecord,
+            String location, int ruleIndex) {
+        json.append("{\"ruleId\":");
+        JsonUtils.appendString(json, checkstyleRecord.getSource());
+        json.append(",\"ruleIndex\":").append(ruleIndex).append(",\"level\":");
+        JsonUtils.appendString(json, getLevel(checkstyleRecord.getSeverity()));
+        json.append(",\"message\":{\"text\":");
+        JsonUtils.appendString(json, checkstyleRecord.getMessage());
+        json.append("},\"baselineState\":");
+        if ("removed".equals(JsonLinesWriter.getChange(checkstyleRecord))) {
+            json.append("\"absent\"");
+        }
+        else {
+            json.append("\"new\"");
+        }
+        json.append(",\"locations\":[{\"physicalLocation\":{\"artifactLocation\":")
+            .append(location);
+        if (checkstyleRecord.getLine() > 0) {
+            json.append(",\"region\":{\"startLine\":").append(checkstyleRecord.getLine());
+            if (checkstyleRecord.getColumn() > 0) {
+                json.append(",\"startColumn\":").append(checkstyleRecord.getColumn());
+            }
+            json.append('}');
+        }
+        json.append("}}]}");
+    }
+
+    /**
+     * Returns SARIF level of the checkstyle severity.
+     *
+     * @param severity
+     *        checkstyle severity.
+     * @return SARIF level.
+     */
+    private static String getLevel(String severity) {
+        return switch (severity) {
+            case LEVEL_ERROR -> LEVEL_ERROR;
+            case "info" -> "note";
+            case "ignore" -> "none";
+            default -> "warning";
+        };
+    }
+
+    /**
+     * Returns JSON of the artifact location of the file: URI relative to the source files,
+     * if the file is in them, absolute file URI, if the file name is absolute, or the file
+     * name as relative URI.
+     *
+     * @param filename
+     *        file name from checkstyle reports.
+     * @param refFilesPath
+     *        path to the source files, may be null.
+     * @return JSON of the artifact location.
+     */
+    private static String getArtifactLocation(String filename, Path refFilesPath) {
+        final StringBuilder json = new StringBuilder(LOCATION_CAPACITY).append("{\"uri\":");
+        Path path = null;
+        try {
+            path = Paths.get(filename);
+        }
+        catch (InvalidPathException ignore) {
+            // file name is used as relative URI
+        }
+        final Path relativePath = getRelativePath(path, refFilesPath);
+        if (relativePath != null) {
+            JsonUtils.appendString(json, toRelativeUri(relativePath.toString()));
+            json.append(",\"uriBaseId\":");
+            JsonUtils.appendString(json, SOURCE_ROOT);
+        }
+        else if (path != null && path.isAbsolute()) {
+            JsonUtils.appendString(json, path.toUri().toString());
+        }
+        else {
+            JsonUtils.appendString(json, toRelativeUri(filename));
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Returns path of the file relative to the source files.
+     *
+     * @param path
+     *        path of the file, may be null.
+     * @param refFilesPath
+     *        path to the source files, may be null.
+     * @return relative path, or null if the file is not in the source files.
+     */
+    private static Path getRelativePath(Path path, Path refFilesPath) {
+        Path result = null;
+        if (path != null && refFilesPath != null) {
+            try {
+                result = refFilesPath.relativize(path);
+                if (result.startsWith("..")) {
+                    result = null;
+                }
+            }
+            catch (IllegalArgumentException ignore) {
+                // paths of different types can not be relativized
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts the relative file path to URI, escaping illegal characters.
+     *
+     * @param path
+     *        relative file path.
+     * @return relative URI.
+     */
+    private static String toRelativeUri(String path) {
+        final String uriPath = path.replace('\\', '/');
+        String result;
+        try {
+            result = new URI(null, null, uriPath, null).toString();
+        }
+        catch (URISyntaxException ignore) {
+            result = uriPath;
+        }
+        return result;
+    }
+
+}
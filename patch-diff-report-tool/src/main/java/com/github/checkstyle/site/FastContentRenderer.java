@@ -0,0 +1,288 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.checkstyle.data.CheckstyleRecord;
+
+/**
+ * Writes a table with violations of a single file directly to the site, producing the same
+ * html as thymeleaf produces from "content" template. Template processing, which happens
+ * for every file, is replaced by writes of precomputed text parts, and escaped values of
+ * severities and rules, which repeat in most records, are cached.
+ */
+class FastContentRenderer {
+
+    /**
+     * Text of the template before the file name.
+     */
+    private static final String FILE_START = "\t\t\t\t<div class=\"section\">\n"
+            + "\t\t\t\t\t<h3>";
+
+    /**
+     * Text of the template between the file name and the first record.
+     */
+    private static final String TABLE_START = "</h3>\n"
+            + "\t\t\t\t\t<tr class=\"b\">\n"
+            + "\t\t\t\t\t<table border=\"0\" class=\"bodyTable\">\n"
+            + "\t\t\t\t\t        <th></th>\n"
+            + "\t\t\t\t\t\t\t<th>Severity</th>\n"
+            + "\t\t\t\t\t\t\t<th>Rule</th>\n"
+            + "\t\t\t\t\t\t\t<th>Message</th>\n"
+            + "\t\t\t\t\t\t\t<th>Line</th>\n"
+            + "\t\t\t\t\t\t\t<th>Col</th>\n"
+            + "\t\t\t\t\t\t</tr>\n"
+            + "\t\t\t\t\t\t";
+
+    /**
+     * Text of the template after the last record.
+     */
+    private static final String TABLE_END = "\n\t\t\t\t\t</table>\n"
+            + "\t\t\t\t</div>\n";
+
+    /**
+     * Separator of cells in the row.
+     */
+    private static final String CELL_SEPARATOR = "\n\t\t\t\t\t\t\t\t";
+
+    /**
+     * Text of the template before the row and after the start tag of the row of the record
+     * with other index.
+     */
+    private static final String ROW_SEPARATOR = "\n\t\t\t\t\t\t\t" + CELL_SEPARATOR;
+
+    /**
+     * Start of the row of the record with index 1.
+     */
+    private static final String ROW_START_BASE = ROW_SEPARATOR
+            + "<tr class=\"b\">" + CELL_SEPARATOR + CELL_SEPARATOR;
+
+    /**
+     * Start of the row of the record with other index.
+     */
+    private static final String ROW_START_PATCH = ROW_SEPARATOR
+            + "<tr class=\"a\">" + ROW_SEPARATOR;
+
+    /**
+     * Separator of cells in the row before a cell, chosen by a switch, with its alternative
+     * left out.
+     */
+    private static final String SWITCH_START = "\n\t\t\t\t\t\t\t\t\n\t\t\t\t\t\t\t\t\t";
+
+    /**
+     * Text after a cell chosen by the first case of a switch.
+     */
+    private static final String FIRST_CASE_END = "\n\t\t\t\t\t\t\t\t\t\n\t\t\t\t\t\t\t\t";
+
+    /**
+     * Text before a cell chosen by the second case of a switch.
+     */
+    private static final String SECOND_CASE_START = "\n\t\t\t\t\t\t\t\t\t";
+
+    /**
+     * End of the row.
+     */
+    private static final String ROW_END = "\n\t\t\t\t\t\t\t</tr>\n\t\t\t\t\t\t";
+
+    /**
+     * Start of the cell with a number.
+     */
+    private static final String NUMBER_CELL_START = "<td class=\"keepWidth\">";
+
+    /**
+     * Start of the cell.
+     */
+    private static final String CELL_START = "<td>";
+
+    /**
+     * End of the cell.
+     */
+    private static final String CELL_END = "</td>";
+
+    /**
+     * End of the cell with a link.
+     */
+    private static final String LINK_CELL_END = "</a>" + CELL_END;
+
+    /**
+     * Cache of escaped severities and rules.
+     */
+    private final Map<String, String> escapedValues = new HashMap<>();
+
+    /**
+     * Appends to the site a table with violations of a single file.
+     *
+     * @param writer
+     *        site writer.
+     * @param records
+     *        checkstyle records for a single file.
+     * @param filename
+     *        current file name from checkstyle reports.
+     * @param anchorCounter
+     *        anchor links provider.
+     * @throws IOException
+     *         on failure to write the site.
+     */
+    public void render(Writer writer, List<CheckstyleRecord> records, String filename,
+            AnchorCounter anchorCounter) throws IOException {
+        writer.write(FILE_START);
+        writer.write(escape(filename));
+        writer.write(TABLE_START);
+        for (CheckstyleRecord checkstyleRecord : records) {
+            anchorCounter.increment();
+            renderRecord(writer, checkstyleRecord, anchorCounter.getAnchor());
+        }
+        writer.write(TABLE_END);
+    }
+
+    /**
+     * Appends to the site a row with a single violation.
+     *
+     * @param writer
+     *        site writer.
+     * @param checkstyleRecord
+     *        checkstyle record.
+     * @param anchor
+     *        anchor link of the record.
+     * @throws IOException
+     *         on failure to write the site.
+     */
+    private void renderRecord(Writer writer, CheckstyleRecord checkstyleRecord, String anchor)
+            throws IOException {
+        if (checkstyleRecord.getIndex() == 1) {
+            writer.write(ROW_START_BASE);
+        }
+        else {
+            writer.write(ROW_START_PATCH);
+        }
+        writer.write("<td class=\"keepWidth\"><a name=\"");
+        writer.write(anchor);
+        writer.write("\" href = \"#");
+        writer.write(anchor);
+        writer.write("\">#");
+        writer.write(anchor);
+        writer.write(LINK_CELL_END);
+        writer.write(CELL_SEPARATOR);
+        writer.write(CELL_START);
+        writer.write(escapeCached(checkstyleRecord.getSeverity()));
+        writer.write(CELL_END);
+        writer.write(CELL_SEPARATOR);
+        writer.write(CELL_START);
+        writer.write(escapeCached(checkstyleRecord.getSimpleCuttedSourceName()));
+        writer.write(CELL_END);
+        writer.write(CELL_SEPARATOR);
+        writer.write(CELL_START);
+        if (checkstyleRecord.getMessageHtml() != null) {
+            writer.write(checkstyleRecord.getMessageHtml());
+        }
+        writer.write(CELL_END);
+        writer.write(SWITCH_START);
+        final String line = Integer.toString(checkstyleRecord.getLine());
+        if (checkstyleRecord.getXref() == null) {
+            writeNumberCell(writer, line);
+            writer.write(FIRST_CASE_END);
+        }
+        else {
+            writer.write(SECOND_CASE_START);
+            writer.write("<td class=\"keepWidth\"><a href = \"");
+            writer.write(escape(checkstyleRecord.getXref()));
+            writer.write("#L");
+            writer.write(line);
+            writer.write("\">");
+            writer.write(line);
+            writer.write(LINK_CELL_END);
+            writer.write(CELL_SEPARATOR);
+        }
+        writer.write(SWITCH_START);
+        if (checkstyleRecord.getColumn() == -1) {
+            writeNumberCell(writer, " ");
+            writer.write(FIRST_CASE_END);
+        }
+        else {
+            writer.write(SECOND_CASE_START);
+            writeNumberCell(writer, Integer.toString(checkstyleRecord.getColumn()));
+            writer.write(CELL_SEPARATOR);
+        }
+        writer.write(ROW_END);
+    }
+
+    /**
+     * Writes the cell with a number.
+     *
+     * @param writer
+     *        site writer.
+     * @param number
+     *        text of the number.
+     * @throws IOException
+     *         on failure to write the site.
+     */
+    private static void writeNumberCell(Writer writer, String number) throws IOException {
+        writer.write(NUMBER_CELL_START);
+        writer.write(number);
+        writer.write(CELL_END);
+    }
+
+    /**
+     * Escapes the value, which is likely to repeat, once.
+     *
+     * @param value
+     *        text to escape.
+     * @return escaped text.
+     */
+    private String escapeCached(String value) {
+        final String result;
+        if (value == null) {
+            result = "";
+        }
+        else {
+            result = escapedValues.computeIfAbsent(value, FastContentRenderer::escape);
+        }
+        return result;
+    }
+
+    /**
+     * Escapes the characters which are escaped by thymeleaf in text and attribute values.
+     *
+     * @param value
+     *        text to escape.
+     * @return escaped text.
+     */
+    private static String escape(String value) {
+        final StringBuilder result = new StringBuilder(value.length() + 16);
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            switch (character) {
+                case '<' -> result.append("&lt;");
+                case '>' -> result.append("&gt;");
+                case '&' -> result.append("&amp;");
+                case '"' -> result.append("&quot;");
+                case '\'' -> result.append("&#39;");
+                default -> result.append(character);
+            }
+        }
+        return result.toString();
+    }
+
+}
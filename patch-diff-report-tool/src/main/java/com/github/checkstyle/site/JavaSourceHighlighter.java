@@ -0,0 +1,710 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Single pass syntax highlighter of java sources, which produces XREF html with line
+ * anchors in the format of maven-jxr. Source is decoded from the channel chunk by chunk and
+ * every line is lexed as soon as it is read, only the state of multi-line comments and text
+ * blocks is kept between lines. Any text can be highlighted, malformed input is replaced
+ * instead of failing the transform.
+ */
+class JavaSourceHighlighter {
+
+    /**
+     * Size of the read buffer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The number 10.
+     */
+    private static final int NUMBER_10 = 10;
+
+    /**
+     * The number 100.
+     */
+    private static final int NUMBER_100 = 100;
+
+    /**
+     * Number of latin letters, which can start a keyword.
+     */
+    private static final int LETTER_COUNT = 'z' - 'a' + 1;
+
+    /**
+     * Initial capacity of the line buffer.
+     */
+    private static final int LINE_CAPACITY = 256;
+
+    /**
+     * Extension of java files, which is not in the page title.
+     */
+    private static final String JAVA_EXTENSION = ".java";
+
+    /**
+     * Java keywords and literals, grouped by the first letter.
+     */
+    private static final char[][][] KEYWORDS = new char[LETTER_COUNT][][];
+
+    /**
+     * Start tag of a keyword.
+     */
+    private static final String KEYWORD_START = "<strong class=\"jxr_keyword\">";
+
+    /**
+     * End tag of a keyword.
+     */
+    private static final String KEYWORD_END = "</strong>";
+
+    /**
+     * Start tag of a comment.
+     */
+    private static final String COMMENT_START = "<em class=\"jxr_comment\">";
+
+    /**
+     * Start tag of a javadoc comment.
+     */
+    private static final String JAVADOC_START = "<em class=\"jxr_javadoccomment\">";
+
+    /**
+     * End tag of a comment.
+     */
+    private static final String COMMENT_END = "</em>";
+
+    /**
+     * Start tag of a string.
+     */
+    private static final String STRING_START = "<span class=\"jxr_string\">";
+
+    /**
+     * End tag of a string.
+     */
+    private static final String STRING_END = "</span>";
+
+    /**
+     * Start of a line comment.
+     */
+    private static final String LINE_COMMENT_OPENING = "//";
+
+    /**
+     * Start of a javadoc comment.
+     */
+    private static final String JAVADOC_OPENING = "/**";
+
+    /**
+     * Start of a block comment.
+     */
+    private static final String COMMENT_OPENING = "/*";
+
+    /**
+     * Empty block comment, which is not a javadoc comment.
+     */
+    private static final String EMPTY_COMMENT = "/**/";
+
+    /**
+     * Delimiter of a text block.
+     */
+    private static final String TEXT_BLOCK_DELIMITER = "\"\"\"";
+
+    static {
+        final String[] keywords = {
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
+            "const", "continue", "default", "do", "double", "else", "enum", "extends", "false",
+            "final", "finally", "float", "for", "goto", "if", "implements", "import",
+            "instanceof", "int", "interface", "long", "native", "new", "null", "package",
+            "private", "protected", "public", "return", "short", "static", "strictfp", "super",
+            "switch", "synchronized", "this", "throw", "throws", "transient", "true", "try",
+            "void", "volatile", "while",
+        };
+        for (String keyword : keywords) {
+            final int letter = keyword.charAt(0) - 'a';
+            final char[][] group;
+            if (KEYWORDS[letter] == null) {
+                group = new char[1][];
+            }
+            else {
+                group = Arrays.copyOf(KEYWORDS[letter], KEYWORDS[letter].length + 1);
+            }
+            group[group.length - 1] = keyword.toCharArray();
+            KEYWORDS[letter] = group;
+        }
+    }
+
+    /**
+     * State of the lexer between lines.
+     */
+    private enum State {
+
+        /** Code. */
+        CODE,
+        /** Block comment. */
+        COMMENT,
+        /** Javadoc comment. */
+        JAVADOC,
+        /** Text block. */
+        TEXT_BLOCK
+
+    }
+
+    /**
+     * Characters of the current line.
+     */
+    private char[] line = new char[LINE_CAPACITY];
+
+    /**
+     * Length of the current line.
+     */
+    private int lineLength;
+
+    /**
+     * Number of the current line.
+     */
+    private int lineNumber;
+
+    /**
+     * State of the lexer at the start of the current line.
+     */
+    private State state;
+
+    /**
+     * Output of the html.
+     */
+    private Writer output;
+
+    /**
+     * Highlights the source file to the XREF file, creating its parent directories.
+     *
+     * @param source
+     *        path to the source file.
+     * @param destination
+     *        path to the XREF file.
+     * @param stylesheet
+     *        link to the stylesheet from the XREF file.
+     * @throws IOException
+     *         on failure to read the source or to write the XREF file.
+     */
+    public void highlight(Path source, Path destination, String stylesheet)
+            throws IOException {
+        Files.createDirectories(destination.getParent());
+        String title = source.getFileName().toString();
+        if (title.endsWith(JAVA_EXTENSION)) {
+            title = title.substring(0, title.length() - JAVA_EXTENSION.length());
+        }
+        try (ReadableByteChannel input = FileChannel.open(source, StandardOpenOption.READ);
+                Writer writer = new BufferedWriter(Channels.newWriter(
+                        FileChannel.open(destination, StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING),
+                        StandardCharsets.UTF_8))) {
+            highlight(input, writer, title, stylesheet);
+        }
+    }
+
+    /**
+     * Highlights UTF-8 source from the channel to XREF html.
+     *
+     * @param input
+     *        channel of the source.
+     * @param writer
+     *        writer of the XREF html.
+     * @param title
+     *        title of the page.
+     * @param stylesheet
+     *        link to the stylesheet from the page.
+     * @throws IOException
+     *         on failure to read the source or to write the html.
+     */
+    public void highlight(ReadableByteChannel input, Writer writer, String title,
+            String stylesheet) throws IOException {
+        output = writer;
+        lineLength = 0;
+        lineNumber = 0;
+        state = State.CODE;
+        writeHeader(title, stylesheet);
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        boolean afterCarriageReturn = false;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = input.read(bytes) == -1;
+            bytes.flip();
+            decoder.decode(bytes, chars, endOfInput);
+            if (endOfInput) {
+                decoder.flush(chars);
+            }
+            bytes.compact();
+            chars.flip();
+            while (chars.hasRemaining()) {
+                final char character = chars.get();
+                if (character == '\n' && afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                }
+                else if (character == '\n' || character == '\r') {
+                    afterCarriageReturn = character == '\r';
+                    highlightLine();
+                }
+                else {
+                    afterCarriageReturn = false;
+                    appendToLine(character);
+                }
+            }
+            chars.clear();
+        }
+        if (lineLength > 0) {
+            highlightLine();
+        }
+        writeFooter();
+        output.flush();
+    }
+
+    /**
+     * Appends the character to the current line.
+     *
+     * @param character
+     *        the character.
+     */
+    private void appendToLine(char character) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength] = character;
+        lineLength++;
+    }
+
+    /**
+     * Writes the current line with its anchor and starts a new one.
+     *
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private void highlightLine() throws IOException {
+        lineNumber++;
+        final String number = Integer.toString(lineNumber);
+        output.write("<a class=\"jxr_linenumber\" name=\"L");
+        output.write(number);
+        output.write("\" href=\"#L");
+        output.write(number);
+        output.write("\">");
+        output.write(number);
+        output.write("</a>");
+        if (lineNumber < NUMBER_10) {
+            output.write("   ");
+        }
+        else if (lineNumber < NUMBER_100) {
+            output.write("  ");
+        }
+        else {
+            output.write(' ');
+        }
+        int index = 0;
+        while (index < lineLength) {
+            index = switch (state) {
+                case COMMENT, JAVADOC -> highlightComment(index);
+                case TEXT_BLOCK -> highlightTextBlock(index);
+                default -> highlightCode(index);
+            };
+        }
+        // empty line inside of a comment or a text block has no tag to close
+        if (lineLength > 0 && (state == State.COMMENT || state == State.JAVADOC)) {
+            output.write(COMMENT_END);
+        }
+        else if (lineLength > 0 && state == State.TEXT_BLOCK) {
+            output.write(STRING_END);
+        }
+        output.write('\n');
+        lineLength = 0;
+    }
+
+    /**
+     * Writes a token of code which starts at the index.
+     *
+     * @param start
+     *        index of the token start.
+     * @return index after the token.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightCode(int start) throws IOException {
+        final char character = line[start];
+        final int end;
+        if (character == '/') {
+            end = highlightSlash(start);
+        }
+        else if (startsWith(start, TEXT_BLOCK_DELIMITER)) {
+            state = State.TEXT_BLOCK;
+            end = start + TEXT_BLOCK_DELIMITER.length();
+            output.write(STRING_START);
+            writeEscaped(start, end);
+        }
+        else if (character == '"') {
+            end = findQuote(start + 1, '"');
+            output.write(STRING_START);
+            writeEscaped(start, end);
+            output.write(STRING_END);
+        }
+        else if (character == '\'') {
+            end = findQuote(start + 1, '\'');
+            writeEscaped(start, end);
+        }
+        else if (Character.isJavaIdentifierStart(character)
+                || Character.isDigit(character)) {
+            end = highlightWord(start);
+        }
+        else {
+            end = highlightOther(start);
+        }
+        return end;
+    }
+
+    /**
+     * Writes a comment start or other token of code, which starts with slash at the index.
+     *
+     * @param start
+     *        index of the token start.
+     * @return index after the token.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightSlash(int start) throws IOException {
+        final int end;
+        if (startsWith(start, LINE_COMMENT_OPENING)) {
+            end = lineLength;
+            output.write(COMMENT_START);
+            writeEscaped(start, end);
+            output.write(COMMENT_END);
+        }
+        else if (startsWith(start, JAVADOC_OPENING) && !startsWith(start, EMPTY_COMMENT)) {
+            state = State.JAVADOC;
+            end = start + JAVADOC_OPENING.length();
+            output.write(JAVADOC_START);
+            writeEscaped(start, end);
+        }
+        else if (startsWith(start, COMMENT_OPENING)) {
+            state = State.COMMENT;
+            end = start + COMMENT_OPENING.length();
+            output.write(COMMENT_START);
+            writeEscaped(start, end);
+        }
+        else {
+            end = highlightOther(start);
+        }
+        return end;
+    }
+
+    /**
+     * Writes an identifier, a keyword or a number, which starts at the index.
+     *
+     * @param start
+     *        index of the word start.
+     * @return index after the word.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightWord(int start) throws IOException {
+        int end = start + 1;
+        while (end < lineLength && Character.isJavaIdentifierPart(line[end])) {
+            end++;
+        }
+        if (isKeyword(start, end)) {
+            output.write(KEYWORD_START);
+            output.write(line, start, end - start);
+            output.write(KEYWORD_END);
+        }
+        else {
+            writeEscaped(start, end);
+        }
+        return end;
+    }
+
+    /**
+     * Writes characters, which are not highlighted, from the index to the next token start.
+     *
+     * @param start
+     *        index of the first character.
+     * @return index of the next token start, or the line end.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightOther(int start) throws IOException {
+        int end = start + 1;
+        while (end < lineLength && !isTokenStart(line[end])) {
+            end++;
+        }
+        writeEscaped(start, end);
+        return end;
+    }
+
+    /**
+     * Writes the part of a block comment which starts at the index.
+     *
+     * @param start
+     *        index of the part start.
+     * @return index after the part.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightComment(int start) throws IOException {
+        if (start == 0) {
+            if (state == State.JAVADOC) {
+                output.write(JAVADOC_START);
+            }
+            else {
+                output.write(COMMENT_START);
+            }
+        }
+        int end = lineLength;
+        boolean closed = false;
+        for (int index = start; index < lineLength - 1; index++) {
+            if (line[index] == '*' && line[index + 1] == '/') {
+                end = index + 2;
+                closed = true;
+                break;
+            }
+        }
+        writeEscaped(start, end);
+        if (closed) {
+            output.write(COMMENT_END);
+            state = State.CODE;
+        }
+        return end;
+    }
+
+    /**
+     * Writes the part of a text block which starts at the index.
+     *
+     * @param start
+     *        index of the part start.
+     * @return index after the part.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private int highlightTextBlock(int start) throws IOException {
+        if (start == 0) {
+            output.write(STRING_START);
+        }
+        int end = lineLength;
+        boolean closed = false;
+        int index = start;
+        while (index < lineLength) {
+            if (line[index] == '\\') {
+                index += 2;
+            }
+            else if (startsWith(index, TEXT_BLOCK_DELIMITER)) {
+                end = index + TEXT_BLOCK_DELIMITER.length();
+                closed = true;
+                break;
+            }
+            else {
+                index++;
+            }
+        }
+        writeEscaped(start, end);
+        if (closed) {
+            output.write(STRING_END);
+            state = State.CODE;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the end of a string or character literal.
+     *
+     * @param start
+     *        index after the opening quote.
+     * @param quote
+     *        the quote character.
+     * @return index after the closing quote, or the line end.
+     */
+    private int findQuote(int start, char quote) {
+        int end = lineLength;
+        int index = start;
+        while (index < lineLength) {
+            if (line[index] == '\\') {
+                index += 2;
+            }
+            else if (line[index] == quote) {
+                end = index + 1;
+                break;
+            }
+            else {
+                index++;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Checks if the character can start a token which is highlighted or contains one.
+     *
+     * @param character
+     *        the character.
+     * @return {@code true} if the character can start such token.
+     */
+    private static boolean isTokenStart(char character) {
+        return character == '/' || character == '"' || character == '\''
+                || Character.isJavaIdentifierPart(character);
+    }
+
+    /**
+     * Checks if the line has the text at the index.
+     *
+     * @param index
+     *        index in the line.
+     * @param text
+     *        the text.
+     * @return {@code true} if the line has the text at the index.
+     */
+    private boolean startsWith(int index, String text) {
+        boolean result = index + text.length() <= lineLength;
+        for (int offset = 0; result && offset < text.length(); offset++) {
+            result = line[index + offset] == text.charAt(offset);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the word is a java keyword.
+     *
+     * @param start
+     *        index of the word start.
+     * @param end
+     *        index after the word.
+     * @return {@code true} if the word is a keyword.
+     */
+    private boolean isKeyword(int start, int end) {
+        final int letter = line[start] - 'a';
+        boolean result = false;
+        if (letter >= 0 && letter < KEYWORDS.length && KEYWORDS[letter] != null) {
+            for (char[] keyword : KEYWORDS[letter]) {
+                if (Arrays.equals(keyword, 0, keyword.length, line, start, end)) {
+                    result = true;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the part of the line escaping html special characters.
+     *
+     * @param start
+     *        index of the part start.
+     * @param end
+     *        index after the part.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private void writeEscaped(int start, int end) throws IOException {
+        writeEscaped(line, start, end);
+    }
+
+    /**
+     * Writes the part of the characters escaping html special characters.
+     *
+     * @param text
+     *        the characters.
+     * @param start
+     *        index of the part start.
+     * @param end
+     *        index after the part.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private void writeEscaped(char[] text, int start, int end) throws IOException {
+        int unescaped = start;
+        for (int index = start; index < end; index++) {
+            final String replacement = switch (text[index]) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                default -> null;
+            };
+            if (replacement != null) {
+                output.write(text, unescaped, index - unescaped);
+                output.write(replacement);
+                unescaped = index + 1;
+            }
+        }
+        output.write(text, unescaped, end - unescaped);
+    }
+
+    /**
+     * Writes the html header.
+     *
+     * @param title
+     *        title of the page.
+     * @param stylesheet
+     *        link to the stylesheet from the page.
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private void writeHeader(String title, String stylesheet) throws IOException {
+        output.write("<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" "
+                + "\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n"
+                + "<html xmlns=\"http://www.w3.org/1999/xhtml\" xml:lang=\"en\" lang=\"en\">\n"
+                + "<head><meta http-equiv=\"content-type\" content=\"text/html; "
+                + "charset=UTF-8\" />\n"
+                + "<title>");
+        final char[] titleChars = title.toCharArray();
+        writeEscaped(titleChars, 0, titleChars.length);
+        output.write(" xref</title>\n"
+                + "<link type=\"text/css\" rel=\"stylesheet\" href=\"");
+        output.write(stylesheet);
+        output.write("\" />\n"
+                + "</head>\n"
+                + "<body>\n"
+                + "<pre>\n");
+    }
+
+    /**
+     * Writes the html footer.
+     *
+     * @throws IOException
+     *         on failure to write the html.
+     */
+    private void writeFooter() throws IOException {
+        output.write("</pre>\n"
+                + "<hr/>\n"
+                + "<div id=\"footer\"></div>\n"
+                + "</body>\n"
+                + "</html>\n");
+    }
+
+}
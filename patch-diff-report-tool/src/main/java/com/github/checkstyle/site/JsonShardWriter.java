@@ -0,0 +1,271 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.checkstyle.FilesystemUtils;
+import com.github.checkstyle.JsonUtils;
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.CliOptions;
+import com.github.checkstyle.data.DiffReport;
+
+/**
+ * Writes violations of the difference as gzip compressed JSON shards for the static viewer,
+ * which is written to the site instead of tables of violations. Every shard contains
+ * violations of a single module from a range of files, the viewer loads the index of shards
+ * first and fetches shards when their rows are scrolled to, so the size of the site page
+ * does not depend on the number of violations.
+ *
+ * <p>Index "data/index.json" lists shards in the order of the table:
+ * {@code {"shards":[{"file":"shard-0.json.gz","module":"Rule","source":"full.Name",
+ * "count":2,"severities":{"warning":2}}]}}. Shard contains file names, their xref links and
+ * violations as arrays of file position, report index, severity, line, column and message:
+ * {@code {"files":["A.java"],"xrefs":["xref/A.java.html"],
+ * "records":[[0,1,"warning",5,1,"Message."]]}}.</p>
+ */
+class JsonShardWriter {
+
+    /**
+     * Name of the folder with the data.
+     */
+    static final Path DATA_PATH = Paths.get("data");
+
+    /**
+     * Number of violations, after which files are written to the next shard.
+     */
+    private static final int RECORDS_PER_SHARD = 2000;
+
+    /**
+     * Name of the index of shards.
+     */
+    private static final String INDEX_FILENAME = "index.json";
+
+    /**
+     * Resource with the viewer.
+     */
+    private static final String VIEWER_RESOURCE = "/viewer.html";
+
+    /**
+     * Size of the buffer of copied viewer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Initial capacity of JSON of the index.
+     */
+    private static final int INDEX_CAPACITY = 256;
+
+    /**
+     * End of the last array of a JSON object and of the object.
+     */
+    private static final String ARRAY_OBJECT_END = "]}";
+
+    /**
+     * Path to the folder with the data.
+     */
+    private final Path dataPath;
+
+    /**
+     * CLI options.
+     */
+    private final CliOptions options;
+
+    /**
+     * Creates the writer.
+     *
+     * @param options
+     *        CLI options.
+     */
+    JsonShardWriter(CliOptions options) {
+        dataPath = options.getOutputPath().resolve(DATA_PATH);
+        this.options = options;
+    }
+
+    /**
+     * Writes shards and their index, then writes the viewer to the site.
+     *
+     * @param writer
+     *        site writer.
+     * @param diffReport
+     *        difference between two checkstyle reports.
+     * @throws IOException
+     *         on failure to write data to disc.
+     */
+    public void write(Writer writer, DiffReport diffReport) throws IOException {
+        FilesystemUtils.createOverwriteDirectory(dataPath);
+        final Map<String, Map<String, List<CheckstyleRecord>>> recordsByModule =
+                new TreeMap<>();
+        for (Map.Entry<String, List<CheckstyleRecord>> entry
+                : diffReport.getRecords().entrySet()) {
+            for (CheckstyleRecord checkstyleRecord : entry.getValue()) {
+                recordsByModule
+                        .computeIfAbsent(checkstyleRecord.getSource(),
+                            source -> new LinkedHashMap<>())
+                        .computeIfAbsent(entry.getKey(), filename -> new ArrayList<>())
+                        .add(checkstyleRecord);
+            }
+        }
+
+        final StringBuilder index = new StringBuilder(INDEX_CAPACITY).append("{\"shards\":[");
+        int shardNumber = 0;
+        for (Map<String, List<CheckstyleRecord>> moduleRecords : recordsByModule.values()) {
+            final Map<String, List<CheckstyleRecord>> shardRecords = new LinkedHashMap<>();
+            int count = 0;
+            for (Map.Entry<String, List<CheckstyleRecord>> entry : moduleRecords.entrySet()) {
+                if (count >= RECORDS_PER_SHARD) {
+                    appendShard(index, shardNumber, shardRecords, count);
+                    shardNumber++;
+                    shardRecords.clear();
+                    count = 0;
+                }
+                shardRecords.put(entry.getKey(), entry.getValue());
+                count += entry.getValue().size();
+            }
+            appendShard(index, shardNumber, shardRecords, count);
+            shardNumber++;
+        }
+        index.append(ARRAY_OBJECT_END);
+        Files.writeString(dataPath.resolve(INDEX_FILENAME), index);
+        writeViewer(writer);
+    }
+
+    /**
+     * Writes a shard and appends its entry to the index.
+     *
+     * @param index
+     *        JSON of the index.
+     * @param shardNumber
+     *        number of the shard.
+     * @param shardRecords
+     *        violations by file name, all of the same module.
+     * @param count
+     *        number of violations.
+     * @throws IOException
+     *         on failure to write shard to disc.
+     */
+    private void appendShard(StringBuilder index, int shardNumber,
+            Map<String, List<CheckstyleRecord>> shardRecords, int count) throws IOException {
+        final String shardFilename = "shard-" + shardNumber + ".json.gz";
+        final Map<String, Integer> severities = new TreeMap<>();
+        final CheckstyleRecord first = shardRecords.values().iterator().next().get(0);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(dataPath.resolve(shardFilename))),
+                StandardCharsets.UTF_8))) {
+            final StringBuilder files = new StringBuilder(64);
+            final StringBuilder xrefs = new StringBuilder(64);
+            for (Map.Entry<String, List<CheckstyleRecord>> entry : shardRecords.entrySet()) {
+                if (files.length() > 0) {
+                    files.append(',');
+                    xrefs.append(',');
+                }
+                JsonUtils.appendString(files, SiteGenerator.getDisplayFilename(entry.getKey(),
+                        options.getRefFilesPath()));
+                JsonUtils.appendString(xrefs, entry.getValue().get(0).getXref());
+            }
+            writer.write("{\"files\":[");
+            writer.write(files.toString());
+            writer.write("],\"xrefs\":[");
+            writer.write(xrefs.toString());
+            writer.write("],\"records\":[");
+            int filePosition = 0;
+            boolean firstRecord = true;
+            final StringBuilder row = new StringBuilder(128);
+            for (List<CheckstyleRecord> records : shardRecords.values()) {
+                for (CheckstyleRecord checkstyleRecord : records) {
+                    row.setLength(0);
+                    if (!firstRecord) {
+                        row.append(',');
+                    }
+                    firstRecord = false;
+                    row.append('[').append(filePosition).append(',')
+                        .append(checkstyleRecord.getIndex()).append(',');
+                    JsonUtils.appendString(row, checkstyleRecord.getSeverity());
+                    row.append(',').append(checkstyleRecord.getLine()).append(',')
+                        .append(checkstyleRecord.getColumn()).append(',');
+                    JsonUtils.appendString(row, checkstyleRecord.getMessage());
+                    row.append(']');
+                    writer.write(row.toString());
+                    severities.merge(checkstyleRecord.getSeverity(), 1, Integer::sum);
+                }
+                filePosition++;
+            }
+            writer.write(ARRAY_OBJECT_END);
+        }
+
+        if (shardNumber > 0) {
+            index.append(',');
+        }
+        index.append("{\"file\":");
+        JsonUtils.appendString(index, shardFilename);
+        index.append(",\"module\":");
+        JsonUtils.appendString(index, first.getSimpleCuttedSourceName());
+        index.append(",\"source\":");
+        JsonUtils.appendString(index, first.getSource());
+        index.append(",\"count\":").append(count).append(",\"severities\":{");
+        boolean firstSeverity = true;
+        for (Map.Entry<String, Integer> severity : severities.entrySet()) {
+            if (!firstSeverity) {
+                index.append(',');
+            }
+            firstSeverity = false;
+            JsonUtils.appendString(index, severity.getKey());
+            index.append(':').append(severity.getValue());
+        }
+        index.append("}}");
+    }
+
+    /**
+     * Copies the viewer to the site.
+     *
+     * @param writer
+     *        site writer.
+     * @throws IOException
+     *         on failure to read the viewer.
+     */
+    private static void writeViewer(Writer writer) throws IOException {
+        try (InputStream inputStream = JsonShardWriter.class.getResourceAsStream(VIEWER_RESOURCE);
+             Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            final char[] buffer = new char[BUFFER_SIZE];
+            int length = reader.read(buffer);
+            while (length != -1) {
+                writer.write(buffer, 0, length);
+                length = reader.read(buffer);
+            }
+        }
+    }
+
+}
@@ -19,12 +19,15 @@
 
 package com.github.checkstyle.site;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 import org.thymeleaf.TemplateEngine;
@@ -36,6 +39,8 @@ import com.github.checkstyle.data.CheckstyleRecord;
 import com.github.checkstyle.data.CliOptions;
 import com.github.checkstyle.data.DiffReport;
 import com.github.checkstyle.data.MergedConfigurationModule;
+import com.github.checkstyle.data.PerformanceDiff;
+import com.github.checkstyle.data.Renderer;
 import com.github.checkstyle.data.Statistics;
 
 /**
@@ -75,26 +80,79 @@ public final class SiteGenerator {
      *        container with parsed data.
      * @param diffConfiguration
      *        merged configurations from both reports.
+     * @param performanceDiff
+     *        difference between profiles of both runs.
      * @param options
      *        CLI options.
      * @throws IOException
      *         on failure to write site to disc.
      */
     public static void generate(DiffReport diffReport, MergedConfigurationModule diffConfiguration,
-            CliOptions options) throws IOException {
-        // setup thymeleaf engine
-        final TemplateEngine tplEngine = getTemplateEngine();
-        // setup xreference generator
+            PerformanceDiff performanceDiff, CliOptions options) throws IOException {
+        generateXref(diffReport, options);
+        render(diffReport, diffConfiguration, performanceDiff, options);
+    }
+
+    /**
+     * Generates XREF files of sources of records and replaces names of sources in records
+     * by links to them, the first stage of site generation.
+     *
+     * @param diffReport
+     *        container with parsed data.
+     * @param options
+     *        CLI options.
+     */
+    public static void generateXref(DiffReport diffReport, CliOptions options) {
         final XrefGenerator xrefGenerator = new XrefGenerator(options.getRefFilesPath(),
                 options.getOutputPath().resolve(Main.XREF_FILEPATH), options.getOutputPath());
+        for (List<CheckstyleRecord> records : diffReport.getRecords().values()) {
+            xrefGenerator.reset();
+            String source = null;
+            String xreference = null;
+            for (CheckstyleRecord checkstyleRecord : records) {
+                // records of a file usually have the same source
+                if (xreference == null || !Objects.equals(checkstyleRecord.getXref(), source)) {
+                    source = checkstyleRecord.getXref();
+                    xreference = xrefGenerator.generateXref(source, options.isShortFilePaths());
+                }
+                checkstyleRecord.setXref(xreference);
+            }
+        }
+    }
+
+    /**
+     * Writes site report of records with generated XREF links, the second stage of site
+     * generation.
+     *
+     * @param diffReport
+     *        container with parsed data.
+     * @param diffConfiguration
+     *        merged configurations from both reports.
+     * @param performanceDiff
+     *        difference between profiles of both runs.
+     * @param options
+     *        CLI options.
+     * @throws IOException
+     *         on failure to write site to disc.
+     */
+    public static void render(DiffReport diffReport, MergedConfigurationModule diffConfiguration,
+            PerformanceDiff performanceDiff, CliOptions options) throws IOException {
+        // setup thymeleaf engine
+        final TemplateEngine tplEngine = getTemplateEngine();
         // html generation
         final Path sitepath = options.getOutputPath().resolve(SITEPATH);
-        final FileWriter writer = new FileWriter(sitepath.toString());
+        final Writer writer = new BufferedWriter(new FileWriter(sitepath.toString()));
         try {
             // write statistics
-            generateHeader(tplEngine, writer, diffReport.getStatistics(), diffConfiguration);
+            generateHeader(tplEngine, writer, diffReport.getStatistics(), diffConfiguration,
+                    performanceDiff);
             // write parsed content
-            generateBody(tplEngine, writer, diffReport, options, xrefGenerator);
+            if (options.getRenderer() == Renderer.JSON) {
+                new JsonShardWriter(options).write(writer, diffReport);
+            }
+            else {
+                generateBody(tplEngine, writer, diffReport, options);
+            }
             // write html footer
             tplEngine.process("footer", new Context(), writer);
         }
@@ -129,12 +187,16 @@ public final class SiteGenerator {
      *        container for statistics.
      * @param diffConfiguration
      *        merged configurations from both reports.
+     * @param performanceDiff
+     *        difference between profiles of both runs.
      */
-    private static void generateHeader(TemplateEngine tplEngine, FileWriter writer,
-            Statistics statistics, MergedConfigurationModule diffConfiguration) {
+    private static void generateHeader(TemplateEngine tplEngine, Writer writer,
+            Statistics statistics, MergedConfigurationModule diffConfiguration,
+            PerformanceDiff performanceDiff) {
         final Context context = new Context();
         context.setVariable("statistics", statistics);
         context.setVariable("config", diffConfiguration);
+        context.setVariable("performance", performanceDiff);
         tplEngine.process("header", context, writer);
     }
 
@@ -149,37 +211,51 @@ public final class SiteGenerator {
      *        difference between two checkstyle reports.
      * @param options
      *        CLI options.
-     * @param xrefGenerator
-     *        xReference generator.
+     * @throws IOException
+     *         on failure to write site to disc.
      */
-    private static void generateBody(TemplateEngine tplEngine, FileWriter writer,
-            DiffReport diffReport, CliOptions options, XrefGenerator xrefGenerator) {
+    private static void generateBody(TemplateEngine tplEngine, Writer writer,
+            DiffReport diffReport, CliOptions options) throws IOException {
         final AnchorCounter anchorCounter = new AnchorCounter();
+        FastContentRenderer fastRenderer = null;
+        if (options.getRenderer() == Renderer.FAST) {
+            fastRenderer = new FastContentRenderer();
+        }
 
-        final Path refFilesPath = options.getRefFilesPath();
         for (Map.Entry<String, List<CheckstyleRecord>> entry : diffReport.getRecords().entrySet()) {
             final List<CheckstyleRecord> records = entry.getValue();
-            String filename = entry.getKey();
-
-            xrefGenerator.reset();
-
-            for (CheckstyleRecord checkstyleRecord : records) {
-                final String xreference = xrefGenerator.generateXref(checkstyleRecord.getXref(),
-                            options.isShortFilePaths());
-                checkstyleRecord.setXref(xreference);
+            final String filename = getDisplayFilename(entry.getKey(),
+                    options.getRefFilesPath());
+            if (fastRenderer == null) {
+                generateContent(tplEngine, writer, records, filename, anchorCounter);
+            }
+            else {
+                fastRenderer.render(writer, records, filename, anchorCounter);
             }
+        }
+    }
 
-            if (refFilesPath != null) {
-                try {
-                    filename = refFilesPath.relativize(Paths.get(filename)).toString();
-                }
-                catch (IllegalArgumentException ignore) {
-                    // use original file name
-                }
+    /**
+     * Returns file name shown in the site: relative to the source files if they are present,
+     * without common beginning.
+     *
+     * @param filename
+     *        file name from checkstyle reports.
+     * @param refFilesPath
+     *        path to the source files, may be null.
+     * @return shown file name.
+     */
+    static String getDisplayFilename(String filename, Path refFilesPath) {
+        String result = filename;
+        if (refFilesPath != null) {
+            try {
+                result = refFilesPath.relativize(Paths.get(filename)).toString();
+            }
+            catch (IllegalArgumentException ignore) {
+                // use original file name
             }
-            generateContent(tplEngine, writer, records, shortenFilename(filename),
-                    anchorCounter);
         }
+        return shortenFilename(result);
     }
 
     /**
@@ -196,7 +272,7 @@ public final class SiteGenerator {
      * @param anchorCounter
      *        anchor links provider.
      */
-    private static void generateContent(TemplateEngine tplEngine, FileWriter writer,
+    private static void generateContent(TemplateEngine tplEngine, Writer writer,
             List<CheckstyleRecord> records, String filename,
             AnchorCounter anchorCounter) {
         final Context context = new Context();
@@ -34,7 +34,7 @@ import java.io.Writer;
 import java.util.Locale;
 
 /**
- * Custom transform implementation modeled after {@link org.apache.maven.jxr.JavaCodeTransform} to
+ * Custom transform implementation modeled after JavaCodeTransform of maven-jxr to
  * handle any type of text file.
  *
  * @author Richard Veach
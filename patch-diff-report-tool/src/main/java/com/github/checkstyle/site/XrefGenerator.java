@@ -19,33 +19,22 @@
 
 package com.github.checkstyle.site;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 
-import org.apache.maven.jxr.JavaCodeTransform;
-import org.apache.maven.jxr.pacman.FileManager;
-import org.apache.maven.jxr.pacman.PackageManager;
-
 /**
  * Constructor for cross reference HTMLs
  * from java source files. Wrapper around
- * maven-jxr functional.
+ * {@link JavaSourceHighlighter}.
  *
  * @author attatrol
  *
  */
 class XrefGenerator {
 
-    /**
-     * Encoding used for input and output files.
-     */
-    public static final String ENCODING = "UTF-8";
-
     /**
      * File extension used for reports.
      */
@@ -64,26 +53,9 @@ class XrefGenerator {
     private static int simpleFileNameCounter;
 
     /**
-     * Maven-jxr package manager.
-     */
-    private static PackageManager pacman;
-
-    /**
-     * Maven-jxr XREF file generator.
-     */
-    private static JavaCodeTransform codeTransform;
-
-    /**
-     * Text XREF file generator.
+     * XREF file generator.
      */
-    private static TextTransform textTransform;
-
-    static {
-        final FileManager fileManager = new FileManager();
-        pacman = new PackageManager(fileManager);
-        codeTransform = new JavaCodeTransform(pacman, fileManager);
-        textTransform = new TextTransform();
-    }
+    private final JavaSourceHighlighter highlighter = new JavaSourceHighlighter();
 
     /**
      * Path to the sources, used to shorten paths.
@@ -131,31 +103,22 @@ class XrefGenerator {
      *        path to the source file.
      * @param shortFilePaths
      *           {@code true} if only short file names should be used with no path.
-     * @return relative path to the resulting file.
+     * @return relative path to the resulting file, null if it can't be generated.
      */
     public final String generateXref(String name, boolean shortFilePaths) {
-        final File sourceFile = new File(name);
         final Path dest = getDestinationPath(name, shortFilePaths);
-        String result;
+        String result = sitePath.relativize(dest).toString();
         if (!dest.toFile().exists()) {
+            final String stylesheet = dest.getParent()
+                    .relativize(destinationPath.resolve(TextTransform.STYLESHEET_FILENAME))
+                    .toString().replace('\\', '/');
             try {
-                codeTransform.transform(sourceFile.toPath(),
-                    dest, Locale.ENGLISH,
-                    ENCODING, ENCODING, null, "", "");
+                highlighter.highlight(Paths.get(name), dest, stylesheet);
             }
-            // -@cs[IllegalCatch] We need to catch all exceptions from JXR
-            catch (Exception exc) {
-                try {
-                    textTransform.transform(sourceFile.getAbsolutePath(),
-                        dest.toString(), Locale.ENGLISH,
-                        ENCODING, ENCODING);
-                }
-                catch (IOException ignore) {
-                    result = null;
-                }
+            catch (IOException ignore) {
+                result = null;
             }
         }
-        result = sitePath.relativize(dest).toString();
         return result;
     }
 
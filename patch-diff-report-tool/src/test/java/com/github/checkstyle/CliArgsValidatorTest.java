@@ -207,4 +207,112 @@ public class CliArgsValidatorTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testBaseProfileAlone() throws Exception {
+        try {
+            Main.main("-baseReport", VALID_BASE_REPORT_EMPTY, "-patchReport",
+                    VALID_PATCH_REPORT_EMPTY, "-baseProfile", getPath("InputBaseProfile.xml"));
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("Patch profile path is missing while base profile path is present",
+                    exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidPatchProfilePath() throws Exception {
+        try {
+            Main.main("-baseReport", VALID_BASE_REPORT_EMPTY, "-patchReport",
+                    VALID_PATCH_REPORT_EMPTY, "-baseProfile", getPath("InputBaseProfile.xml"),
+                    "-patchProfile", "test");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("Patch profile file doesn't exist: test", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testMergeNoOutputPath() throws Exception {
+        try {
+            Main.main("-mergeReports", VALID_BASE_REPORT_EMPTY + "," + VALID_PATCH_REPORT_EMPTY);
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("obligatory argument --output not present for merge of reports, "
+                    + "-h for help", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testMergeInvalidReportPath() throws Exception {
+        try {
+            Main.main("-mergeReports", VALID_BASE_REPORT_EMPTY + ",test", "-output",
+                    "merged.xml");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("XML Report file doesn't exist: test", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testServiceNoBaseReportPath() throws Exception {
+        try {
+            Main.main("-serve", "0");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("obligatory argument --baseReport not present for diff service, "
+                    + "-h for help", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testServiceInvalidCacheSize() throws Exception {
+        try {
+            Main.main("-serve", "0", "-baseReport", VALID_BASE_REPORT_EMPTY, "-cacheSize", "0");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("Cache size should be positive: 0", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidMaxRecordsPerModule() throws Exception {
+        try {
+            Main.main("-patchReport", VALID_PATCH_REPORT_EMPTY, "-maxRecordsPerModule", "0");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("Maximal number of records per module should be positive: 0",
+                    exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidMaxRecordsPerFile() throws Exception {
+        try {
+            Main.main("-patchReport", VALID_PATCH_REPORT_EMPTY, "-maxRecordsPerFile", "-1");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("Maximal number of records per file should be positive: -1",
+                    exc.getMessage());
+        }
+    }
+
+    @Test
+    public void testNoOutputFormats() throws Exception {
+        try {
+            Main.main("-patchReport", VALID_PATCH_REPORT_EMPTY, "-outputFormat", ",");
+            Assert.fail("exception expected");
+        }
+        catch (IllegalArgumentException exc) {
+            Assert.assertEquals("No output formats, -h for help", exc.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,152 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.checkstyle.data.CliOptions;
+import com.github.checkstyle.data.CompareMode;
+import com.github.checkstyle.data.MergedConfigurationModule;
+import com.github.checkstyle.data.OutputFormat;
+import com.github.checkstyle.data.Renderer;
+import com.github.checkstyle.internal.AbstractTest;
+import com.github.checkstyle.parser.CheckstyleConfigurationsParser;
+import com.github.checkstyle.parser.CheckstyleReportsParser;
+import com.sun.net.httpserver.HttpServer;
+
+public class DiffServiceTest extends AbstractTest {
+
+    @Test
+    public void testDiff() throws Exception {
+        final DiffService service = createService(2);
+        final byte[] patchReport = readReport("InputPatchReportDifferences.xml");
+
+        final String summary = service.diff(patchReport);
+        final File site = getSite(summary);
+
+        Assert.assertTrue("invalid summary", summary.contains("\"cached\":false,"));
+        Assert.assertTrue("invalid summary",
+                summary.endsWith("\"files\":8,\"removed\":6,\"added\":6}"));
+        assertReportOutput(getPath("ExpectedReportDifferences.html"), site);
+        Assert.assertEquals("invalid cached summary",
+                summary.replace("\"cached\":false", "\"cached\":true"),
+                service.diff(patchReport));
+    }
+
+    @Test
+    public void testDiffKeepsBaseRecords() throws Exception {
+        final DiffService service = createService(2);
+        final byte[] patchReport = readReport("InputPatchReportDifferences.xml");
+        final byte[] samePatchReport = Arrays.copyOf(patchReport, patchReport.length + 1);
+        samePatchReport[patchReport.length] = '\n';
+
+        service.diff(patchReport);
+        final File site = getSite(service.diff(samePatchReport));
+
+        assertReportOutput(getPath("ExpectedReportDifferences.html"), site);
+    }
+
+    @Test
+    public void testDiffEvictsSite() throws Exception {
+        final DiffService service = createService(1);
+
+        final File site = getSite(service.diff(readReport("InputPatchReportDifferences.xml")));
+        final File otherSite = getSite(service.diff(readReport("InputPatchReportMessages.xml")));
+
+        Assert.assertFalse("evicted site should be deleted", site.exists());
+        assertDirectoryExists("last site should exist", otherSite);
+    }
+
+    @Test
+    public void testHttp() throws Exception {
+        final HttpServer server = createService(1).start(0);
+        try {
+            final URL url = new URL("http://localhost:" + server.getAddress().getPort()
+                    + DiffService.DIFF_CONTEXT);
+
+            HttpURLConnection connection = post(url, "<checkstyle>");
+            Assert.assertEquals("invalid status", HttpURLConnection.HTTP_BAD_REQUEST,
+                    connection.getResponseCode());
+
+            connection = (HttpURLConnection) url.openConnection();
+            Assert.assertEquals("invalid status", HttpURLConnection.HTTP_BAD_METHOD,
+                    connection.getResponseCode());
+
+            connection = post(url, "<checkstyle></checkstyle>");
+            Assert.assertEquals("invalid status", HttpURLConnection.HTTP_OK,
+                    connection.getResponseCode());
+            try (InputStream inputStream = connection.getInputStream()) {
+                final String summary =
+                        new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                Assert.assertTrue("invalid summary",
+                        summary.endsWith("\"files\":7,\"removed\":7,\"added\":0}"));
+            }
+        }
+        finally {
+            server.stop(0);
+        }
+    }
+
+    private DiffService createService(int cacheSize) throws Exception {
+        final Path basePath = new File(getPath("InputBaseReportDifferences.xml")).toPath();
+        final Path configPath = new File(VALID_BASE_CONFIG).toPath();
+        final CliOptions options = new CliOptions(CompareMode.XML, basePath, null, null,
+                folder.getRoot().toPath(), configPath, configPath, false, null, null,
+                Renderer.THYMELEAF, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                EnumSet.of(OutputFormat.SITE));
+        final MergedConfigurationModule configuration =
+                CheckstyleConfigurationsParser.parse(configPath, configPath);
+        return new DiffService(CheckstyleReportsParser.parseBase(basePath), configuration,
+                options, cacheSize);
+    }
+
+    private static byte[] readReport(String name) throws Exception {
+        return Files.readAllBytes(new File(getPath(name)).toPath());
+    }
+
+    private static File getSite(String summary) {
+        final int siteStart = summary.indexOf("\"site\":\"") + 8;
+        final String sitePath = summary.substring(siteStart, summary.indexOf('"', siteStart));
+        return new File(sitePath).getParentFile();
+    }
+
+    private static HttpURLConnection post(URL url, String body) throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+}
@@ -22,6 +22,7 @@ package com.github.checkstyle;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -131,4 +132,29 @@ public class DiffUtilsTest extends AbstractTest {
         Assert.assertEquals("Expected [1, 2, 4, 6, 7]", expected, actual);
     }
 
+    @Test
+    public void testHashDiff() {
+        final List<Integer> list1 = Arrays.asList(7, 3, 1, 3, 5, 2);
+        final List<Integer> list2 = Arrays.asList(2, 6, 3, 4, 1, 7);
+        final List<Integer> expected = Arrays.asList(3, 4, 5, 6);
+        final List<Integer> actual = DiffUtils.produceHashDiff(list1, list2, Function.identity());
+        Assert.assertEquals("Expected [3, 4, 5, 6]", expected, actual);
+    }
+
+    @Test
+    public void testHashDiffSameAsSorted() {
+        final List<Integer> list1 = Arrays.asList(1, 1, 2, 3, 5, 6, 7, 9);
+        final List<Integer> list2 = Arrays.asList(1, 3, 3, 4, 5, 7, 8);
+        Assert.assertEquals("Expected same difference as by merge",
+                DiffUtils.produceDiff(list1, list2),
+                DiffUtils.produceHashDiff(list2, list1, Function.identity()));
+    }
+
+    @Test
+    public void testIsSorted() {
+        Assert.assertTrue("Empty list is sorted", DiffUtils.isSorted(Collections.<Integer>emptyList()));
+        Assert.assertTrue("List is sorted", DiffUtils.isSorted(Arrays.asList(1, 1, 2)));
+        Assert.assertFalse("List is not sorted", DiffUtils.isSorted(Arrays.asList(1, 3, 2)));
+    }
+
 }
@@ -20,6 +20,12 @@
 package com.github.checkstyle;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -191,6 +197,17 @@ public class MainTest extends AbstractTest {
                 getFileContents(xrefFile));
     }
 
+    @Test
+    public void testPerformance() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT_EMPTY, "-patchReport", VALID_PATCH_REPORT_EMPTY,
+                "-baseProfile", getPath("InputBaseProfile.xml"), "-patchProfile",
+                getPath("InputPatchProfile.xml"), "-output", outputDirectory.getAbsolutePath());
+
+        assertReportOutput(getPath("ExpectedReportPerformance.html"), outputDirectory);
+    }
+
     @Test
     public void testTextMode() throws Exception {
         final File outputDirectory = folder.getRoot();
@@ -212,6 +229,155 @@ public class MainTest extends AbstractTest {
         assertReportOutput(getPath("ExpectedReportConfigMessages.html"), outputDirectory);
     }
 
+    @Test
+    public void testDifferencesFastRenderer() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-baseConfig", VALID_BASE_CONFIG, "-patchConfig", VALID_BASE_CONFIG, "-output",
+                outputDirectory.getAbsolutePath(), "-refFiles", "src/test/resources/run",
+                "-renderer", "fast");
+
+        assertReportOutput(getPath("ExpectedReportDifferencesRefFiles.html"), outputDirectory);
+    }
+
+    @Test
+    public void testDifferencesJsonRenderer() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-output", outputDirectory.getAbsolutePath(), "-refFiles",
+                "src/test/resources/run", "-renderer", "json");
+
+        Assert.assertTrue("site should contain viewer",
+                getFileContents(new File(outputDirectory, "index.html"))
+                        .contains("<table border=\"0\" class=\"bodyTable\" id=\"viewerTable\">"));
+        Assert.assertEquals("invalid index of shards",
+                getFileContents(new File(getPath("ExpectedJsonIndex.json"))),
+                getFileContents(new File(outputDirectory, "data/index.json")));
+        final File shard = folder.newFile("shard.json");
+        try (InputStream inputStream = new GZIPInputStream(
+                new FileInputStream(new File(outputDirectory, "data/shard-1.json.gz")))) {
+            Files.copy(inputStream, shard.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Assert.assertEquals("invalid shard",
+                getFileContents(new File(getPath("ExpectedJsonShard.json"))),
+                getFileContents(shard));
+        final String[] dataFiles = new File(outputDirectory, "data").list();
+        Arrays.sort(dataFiles);
+        Assert.assertArrayEquals("invalid shards", new String[] {"index.json",
+            "shard-0.json.gz", "shard-1.json.gz", "shard-2.json.gz", "shard-3.json.gz", },
+                dataFiles);
+    }
+
+    @Test
+    public void testDifferencesSarifAndJsonLines() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-output", outputDirectory.getAbsolutePath(), "-outputFormat", "sarif,jsonl");
+
+        Assert.assertFalse("site should not be generated",
+                new File(outputDirectory, "index.html").exists());
+        Assert.assertEquals("invalid SARIF log",
+                getFileContents(new File(getPath("ExpectedDiff.sarif"))),
+                getFileContents(new File(outputDirectory, "diff.sarif")));
+        Assert.assertEquals("invalid JSON Lines",
+                getFileContents(new File(getPath("ExpectedDiff.jsonl"))),
+                getFileContents(new File(outputDirectory, "diff.jsonl")));
+    }
+
+    @Test
+    public void testDifferencesSarifRefFiles() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-baseConfig", VALID_BASE_CONFIG, "-patchConfig", VALID_BASE_CONFIG, "-output",
+                outputDirectory.getAbsolutePath(), "-refFiles", "src/test/resources/run",
+                "-outputFormat", "site,sarif");
+
+        assertReportOutput(getPath("ExpectedReportDifferencesRefFiles.html"), outputDirectory);
+        Assert.assertTrue("files should be relative to the source files",
+                getFileContents(new File(outputDirectory, "diff.sarif")).contains(
+                        "\"artifactLocation\":{\"uri\":\"BaseOnly1.java\","
+                                + "\"uriBaseId\":\"SRCROOT\"}"));
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-baseConfig", VALID_BASE_CONFIG, "-patchConfig", VALID_BASE_CONFIG, "-output",
+                outputDirectory.getAbsolutePath(), "-outputFormat", "site,jsonl", "-metrics");
+
+        assertReportOutput(getPath("ExpectedReportDifferences.html"), outputDirectory);
+        final String metrics = getFileContents(new File(outputDirectory, "metrics.json"));
+        for (String stage : new String[] {"parse", "config", "xref", "render", "jsonl"}) {
+            Assert.assertTrue("metrics should contain stage " + stage,
+                    metrics.contains("{\"name\":\"" + stage + "\",\"timeMillis\":"));
+        }
+        Assert.assertTrue("records should be counted",
+                metrics.contains("\"records\":"));
+        Assert.assertTrue("heap usage should be sampled",
+                metrics.contains("\"heapUsedBytes\":"));
+        Assert.assertTrue("peak heap should be an upper bound",
+                metrics.contains("\"peakHeapUpperBoundBytes\":"));
+    }
+
+    @Test
+    public void testNoMetrics() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-output", outputDirectory.getAbsolutePath(), "-outputFormat", "jsonl");
+
+        Assert.assertFalse("metrics should not be written",
+                new File(outputDirectory, "metrics.json").exists());
+    }
+
+    @Test
+    public void testDifferencesLimits() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-baseConfig", VALID_BASE_CONFIG, "-patchConfig", VALID_BASE_CONFIG, "-output",
+                outputDirectory.getAbsolutePath(), "-maxRecordsPerModule", "3",
+                "-maxRecordsPerFile", "1");
+
+        assertReportOutput(getPath("ExpectedReportDifferencesLimits.html"), outputDirectory);
+        Assert.assertEquals("xref should be generated only for shown records", 6,
+                new File(outputDirectory, "xref/src/test/resources/run").list().length);
+    }
+
+    @Test
+    public void testDifferencesLimitsMachineOutput() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-baseReport", VALID_BASE_REPORT, "-patchReport", VALID_PATCH_REPORT,
+                "-baseConfig", VALID_BASE_CONFIG, "-patchConfig", VALID_BASE_CONFIG, "-output",
+                outputDirectory.getAbsolutePath(), "-maxRecordsPerModule", "3",
+                "-maxRecordsPerFile", "1", "-outputFormat", "site,sarif,jsonl");
+
+        assertReportOutput(getPath("ExpectedReportDifferencesLimits.html"), outputDirectory);
+        Assert.assertEquals("SARIF log should contain all records",
+                getFileContents(new File(getPath("ExpectedDiff.sarif"))),
+                getFileContents(new File(outputDirectory, "diff.sarif")));
+        Assert.assertEquals("JSON Lines should contain all records",
+                getFileContents(new File(getPath("ExpectedDiff.jsonl"))),
+                getFileContents(new File(outputDirectory, "diff.jsonl")));
+    }
+
+    @Test
+    public void testMessagesFastRenderer() throws Exception {
+        final File outputDirectory = folder.getRoot();
+
+        Main.main("-patchReport", getPath("InputPatchReportMessages.xml"), "-output",
+                outputDirectory.getAbsolutePath(), "-renderer", "fast");
+
+        assertReportOutput(getPath("ExpectedReportMessages.html"), outputDirectory);
+    }
+
     @Test
     public void testConstructor() throws Exception {
         assertUtilsClassHasPrivateConstructor(Main.class);
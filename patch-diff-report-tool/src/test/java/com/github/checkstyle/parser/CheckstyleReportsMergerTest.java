@@ -0,0 +1,63 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.parser;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.checkstyle.data.DiffReport;
+import com.github.checkstyle.internal.AbstractTest;
+
+public class CheckstyleReportsMergerTest extends AbstractTest {
+
+    @Test
+    public void testConstructor() throws Exception {
+        assertUtilsClassHasPrivateConstructor(CheckstyleReportsMerger.class);
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        final Path mergedReport = folder.newFile("merged.xml").toPath();
+
+        CheckstyleReportsMerger.merge(Arrays.asList(
+                new File(getPath("InputMergeReport1.xml")).toPath(),
+                new File(getPath("InputMergeReport2.xml")).toPath()), mergedReport);
+
+        Assert.assertEquals(getFileContents(new File(getPath("ExpectedMergedReport.xml"))),
+                getFileContents(mergedReport.toFile()));
+    }
+
+    @Test
+    public void testMergeDuplicatesHasNoDifference() throws Exception {
+        final Path report = new File(getPath("InputPatchReportMessages.xml")).toPath();
+        final Path mergedReport = folder.newFile("merged.xml").toPath();
+
+        CheckstyleReportsMerger.merge(Arrays.asList(report, report), mergedReport);
+        final DiffReport diffReport = CheckstyleReportsParser.parse(report, mergedReport, 50);
+
+        Assert.assertTrue("merged report differs from the original",
+                diffReport.getRecords().isEmpty());
+    }
+
+}
@@ -19,8 +19,16 @@
 
 package com.github.checkstyle.parser;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.data.DiffReport;
 import com.github.checkstyle.internal.AbstractTest;
 
 public class CheckstyleReportsParserTest extends AbstractTest {
@@ -30,4 +38,29 @@ public class CheckstyleReportsParserTest extends AbstractTest {
         assertUtilsClassHasPrivateConstructor(CheckstyleReportsParser.class);
     }
 
+    @Test
+    public void testParseSameFiles() throws Exception {
+        for (int portionSize : new int[] {1, 2, 10}) {
+            final DiffReport report = CheckstyleReportsParser.parse(
+                    new File(getPath("InputBaseReportFingerprint.xml")).toPath(),
+                    new File(getPath("InputPatchReportFingerprint.xml")).toPath(), portionSize);
+
+            assertEquals("invalid files", Arrays.asList("BaseOnly.java", "Changed.java"),
+                    List.copyOf(report.getRecords().keySet()));
+            final List<CheckstyleRecord> changed = report.getRecords().get("Changed.java");
+            assertEquals("invalid records", 2, changed.size());
+            assertEquals("invalid base record", "Base violation.", changed.get(0).getMessage());
+            assertEquals("invalid base index", CheckstyleReportsParser.BASE_REPORT_INDEX,
+                    changed.get(0).getIndex());
+            assertEquals("invalid patch record", "Patch violation.",
+                    changed.get(1).getMessage());
+            assertEquals("invalid patch index", CheckstyleReportsParser.PATCH_REPORT_INDEX,
+                    changed.get(1).getIndex());
+            assertEquals("invalid base count", 7,
+                    report.getStatistics().getTotalNumBase().intValue());
+            assertEquals("invalid difference count", 3,
+                    report.getStatistics().getTotalNumDiff().intValue());
+        }
+    }
+
 }
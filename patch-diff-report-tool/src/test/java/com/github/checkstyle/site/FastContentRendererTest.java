@@ -0,0 +1,85 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.github.checkstyle.data.CheckstyleRecord;
+import com.github.checkstyle.internal.AbstractTest;
+
+public class FastContentRendererTest extends AbstractTest {
+
+    @Test
+    public void testSameAsTemplate() throws Exception {
+        final List<CheckstyleRecord> records = Arrays.asList(
+                new CheckstyleRecord(1, 5, 2, "warning", "com.example.MyCheck",
+                        "Message <b>with</b> \"html\" & 'quotes'.", "xref/A&B.java.html"),
+                new CheckstyleRecord(2, 7, -1, "error<&>", "com.example.Other\"Check",
+                        "Another.", null),
+                new CheckstyleRecord(2, 9, 1, "info", "'Quoted'Check", "", null));
+        final String filename = "dir/<A&B> \"x\" 'y'.java";
+
+        final StringWriter expected = new StringWriter();
+        final Context context = new Context();
+        context.setVariable("filename", filename);
+        context.setVariable("records", records);
+        context.setVariable("anchor", new AnchorCounter());
+        getTemplateEngine().process("content", context, expected);
+
+        final StringWriter actual = new StringWriter();
+        new FastContentRenderer().render(actual, records, filename, new AnchorCounter());
+
+        Assert.assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testEmptyRecords() throws Exception {
+        final StringWriter expected = new StringWriter();
+        final Context context = new Context();
+        context.setVariable("filename", "Empty.java");
+        context.setVariable("records", List.of());
+        context.setVariable("anchor", new AnchorCounter());
+        getTemplateEngine().process("content", context, expected);
+
+        final StringWriter actual = new StringWriter();
+        new FastContentRenderer().render(actual, List.of(), "Empty.java", new AnchorCounter());
+
+        Assert.assertEquals(expected.toString(), actual.toString());
+    }
+
+    private static TemplateEngine getTemplateEngine() {
+        final ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setTemplateMode("HTML");
+        templateResolver.setPrefix("/");
+        templateResolver.setSuffix(".template");
+        final TemplateEngine tplEngine = new TemplateEngine();
+        tplEngine.setTemplateResolver(templateResolver);
+        return tplEngine;
+    }
+
+}
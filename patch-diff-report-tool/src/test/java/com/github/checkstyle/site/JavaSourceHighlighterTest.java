@@ -0,0 +1,58 @@
+///////////////////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code and other text files for adherence to a set of rules.
+// Copyright (C) 2001-2026 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+///////////////////////////////////////////////////////////////////////////////////////////////
+
+package com.github.checkstyle.site;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.checkstyle.internal.AbstractTest;
+
+public class JavaSourceHighlighterTest extends AbstractTest {
+
+    @Test
+    public void testHighlight() throws Exception {
+        final File xref = new File(folder.getRoot(), "xref/InputXrefHighlighting.java.html");
+
+        new JavaSourceHighlighter().highlight(
+                new File(getPath("InputXrefHighlighting.java")).toPath(), xref.toPath(),
+                "../stylesheet.css");
+
+        Assert.assertEquals(getFileContents(new File(getPath("ExpectedXrefHighlighting.html"))),
+                getFileContents(xref));
+    }
+
+    @Test
+    public void testEmptySource() throws Exception {
+        final StringWriter writer = new StringWriter();
+
+        new JavaSourceHighlighter().highlight(
+                Channels.newChannel(new ByteArrayInputStream(new byte[0])), writer, "Empty",
+                "stylesheet.css");
+
+        Assert.assertTrue("no lines expected",
+                writer.toString().contains("<pre>\n</pre>\n"));
+    }
+
+}
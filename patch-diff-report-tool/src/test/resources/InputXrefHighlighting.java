@@ -0,0 +1,27 @@
+package com.ex;
+
+import java.util.List;
+
+/**
+ * Javadoc <b>bold</b> & stuff.
+
+ */
+public class Sample<T> extends Object {
+    // line comment with "quote" and 'c'
+    private static final String S = "str \"esc\" \\ <tag> & 'x' // not comment";
+    private char c = '"';
+    private char d = '\'';
+    /* block
+       comment */ int x = 0x1F; // trailing
+    String t = """
+        text block "with" quotes
+
+        """;
+    @Override
+    public String toString() { return S + c + "/* not */"; }
+    void m(List<String> l) { if (l != null && x < 3) { return; } }
+	int tabbed;
+}
+int y; /**/ int z; /* a */ int w;
+char q = '"'; String u = "\\"; // end
+int bad;
\ No newline at end of file
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+
+# Measures startup of the diff tool jar with and without the class data sharing archive
+# built by "mvn package -Pcds". Every variant is run on the test reports the given number
+# of times (default 10), median wall time of the run is printed.
+#
+# usage: ./startup-benchmark.sh [runs]
+
+set -e
+
+RUNS=${1:-10}
+JAR=$(ls target/patch-diff-report-tool-*-jar-with-dependencies.jar)
+ARCHIVE=${JAR%-jar-with-dependencies.jar}.jsa
+OUTPUT=target/startup-benchmark
+
+if [ ! -f "$ARCHIVE" ]; then
+  echo "Archive $ARCHIVE is not found, build it with: mvn package -Pcds"
+  exit 1
+fi
+
+ARGS="--baseReport src/test/resources/InputBaseReportDifferences.xml
+  --patchReport src/test/resources/InputPatchReportDifferences.xml
+  --refFiles src/test/resources/run
+  --baseConfig src/test/resources/InputBaseConfig.xml
+  --patchConfig src/test/resources/InputPatchConfigMessages.xml
+  --output $OUTPUT"
+
+function median_millis {
+  local times=()
+  for ((i = 0; i < RUNS; i++)); do
+    local start
+    start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    java "$@" -jar "$JAR" $ARGS > /dev/null
+    times+=($(( ($(date +%s%N) - start) / 1000000 )))
+  done
+  printf '%s\n' "${times[@]}" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p"
+}
+
+DEFAULT=$(median_millis -Xshare:auto)
+APPCDS=$(median_millis -Xshare:auto -XX:SharedArchiveFile="$ARCHIVE")
+rm -rf "$OUTPUT"
+
+echo "Median of $RUNS runs, ms:"
+echo "  default CDS (JDK classes only): $DEFAULT"
+echo "  AppCDS archive:                 $APPCDS"
+echo "  speedup:                        $(awk "BEGIN { printf \"%.2f\", $DEFAULT / $APPCDS }")x"